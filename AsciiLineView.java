@@ -0,0 +1,50 @@
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable CharSequence view over a range of ASCII bytes.
+ *
+ * Lets PlateScanner read a line straight out of an input buffer without
+ * materializing a String. Callers must only point it at pure-ASCII ranges
+ * (every byte < 0x80), where byte == char.
+ */
+public final class AsciiLineView implements CharSequence {
+    private final byte[] buffer;
+    private int start;
+    private int length;
+
+    public AsciiLineView(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public void set(int start, int length) {
+        this.start = start;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, start, length, StandardCharsets.US_ASCII);
+    }
+}
@@ -1,3 +1,6 @@
+import java.util.Arrays;
+import java.util.Random;
+
 public class BubbleSort {
     //What is Bubble Sort
     void bubbleSort(int[] arr){
@@ -51,9 +54,10 @@ public class BubbleSort {
      *
      * KEY INSIGHT:
      * -----------
-     * The answer is the length of the LONGEST SORTED PREFIX!
+     * The answer is n minus the number of passes that swap, and that number
+     * can be read off the sorted positions of the elements (see Approach 3).
      *
-     * WHY? Let's trace through Example 1: [3, 1, 2]
+     * Let's trace through Example 1: [3, 1, 2]
      *
      * Pass 1:
      *   Compare 3 vs 1 → swap → [1, 3, 2]
@@ -74,8 +78,9 @@ public class BubbleSort {
      * Pass 3: [1, 2] → no swaps → STOP!
      * Final: 2
      *
-     * PATTERN: The process stops when we have a sorted prefix.
-     * Elements that are NOT in the correct position will eventually bubble out.
+     * PATTERN: The process stops once the remaining prefix is sorted. Each pass
+     * moves a misplaced small element one step left, so the element furthest
+     * from its sorted position decides how many passes run.
      *
      * SOLUTION APPROACHES:
      * ====================
@@ -153,30 +158,48 @@ public class BubbleSort {
         return length;
     }
 
-    // Approach 3: Mathematical Insight - Count inversions from the end
-    // Time: O(n), Space: O(1)
+    // Approach 3: Mathematical Insight - Count passes from sorted positions
+    // Time: O(n log n), Space: O(n)
     public static int minimumArrayLength_Mathematical(int[] nums) {
         /*
-         * CORRECT KEY INSIGHT:
-         * After each bubble pass, the largest element bubbles to the end and is removed.
-         * The process stops when no swaps occur.
-         *
-         * This means: We keep removing elements from the end until the
-         * remaining prefix is sorted!
+         * KEY INSIGHT:
+         * Shrinking the array after each pass does not change what the passes
+         * do. Pass p of ordinary bubble sort stops at index n-p anyway, because
+         * the p-1 largest elements are already parked at the end. So the process
+         * is plain bubble sort, and it stops right after the last pass that
+         * swapped: the answer is n - (number of passes that swap).
          *
-         * So we need to find: Starting from the beginning, what's the longest
-         * prefix that is already in sorted order (non-decreasing)?
+         * HOW MANY PASSES SWAP?
+         * A pass moves a smaller element left by at most one position, and
+         * moves it by exactly one while some larger element is still in front
+         * of it. So an element at index i whose stable sorted position is pos
+         * needs exactly i - pos passes to arrive. The number of passes that swap
+         * is the largest i - pos over all elements.
          *
-         * Wait, that's wrong for [3,1,2]. Let me think again...
+         * Bubble sort only swaps on a strict >, so equal elements keep their
+         * order. Sorting (value, index) pairs gives the stable positions.
          *
-         * Actually, we need to find the point where if we remove all elements
-         * after it, the remaining array would be sorted after one final pass.
-         *
-         * The simulation approach is actually the clearest for this problem.
+         * Example: [4, 2, 1, 3] → sorted [1, 2, 3, 4]
+         *   1: index 2 → position 0, needs 2 passes
+         *   2: index 1 → position 1, needs 1 pass
+         *   3: index 3 → position 2, needs 1 pass
+         *   Passes = 2, answer = 4 - 2 = 2
          */
+        int n = nums.length;
+        long[] pairs = new long[n];
+        for (int i = 0; i < n; i++) {
+            // value in the high half, index in the low half: sorts by value, then index
+            pairs[i] = (long) nums[i] << 32 | i;
+        }
+        Sorting.sort(pairs);
 
-        // For now, use simulation
-        return minimumArrayLength_Optimized(nums);
+        int passes = 0;
+        for (int pos = 0; pos < n; pos++) {
+            int index = (int) pairs[pos];
+            passes = Math.max(passes, index - pos);
+        }
+
+        return n - passes;
     }
 
     /* ============================================================================
@@ -237,13 +260,41 @@ public class BubbleSort {
         System.out.println("Expected: 1");
         System.out.println("Result: " + minimumArrayLength_Simulation(test8));
 
+        // Differential test: the O(n log n) approach against the simulation
+        System.out.println("\nRandomized check: Mathematical vs Simulation");
+        Random random = new Random(19);
+        boolean match = true;
+        for (int trial = 0; trial < 2000 && match; trial++) {
+            int n = random.nextInt(60);
+            int[] nums = new int[n];
+            int bound = trial % 2 == 0 ? 5 : Integer.MAX_VALUE;  // duplicates on even trials
+            for (int i = 0; i < n; i++) {
+                nums[i] = trial % 3 == 0 ? random.nextInt() : random.nextInt(bound);
+            }
+            if (minimumArrayLength_Mathematical(nums) != minimumArrayLength_Simulation(nums)) {
+                System.out.println("Mismatch on " + Arrays.toString(nums));
+                match = false;
+            }
+        }
+        System.out.println("Expected: all 2000 random arrays (lengths 0-59, with duplicates and negatives) agree");
+        System.out.println("Result: " + (match ? "all agree" : "mismatch"));
+
+        int[] sortedExceptLast = new int[1_000_000];
+        for (int i = 0; i < sortedExceptLast.length; i++) {
+            sortedExceptLast[i] = i + 1;
+        }
+        sortedExceptLast[sortedExceptLast.length - 1] = 0;
+        System.out.println("\n1M elements, sorted except a 0 at the end (needs 999,999 passes)");
+        System.out.println("Expected: 1");
+        System.out.println("Result: " + minimumArrayLength_Mathematical(sortedExceptLast));
+
         System.out.println("\n" + "=".repeat(70));
         System.out.println("KEY CONCEPTS FOR YOUR SESSION:");
         System.out.println("=".repeat(70));
         System.out.println("1. Bubble Sort basics: Compare adjacent elements and swap");
         System.out.println("2. Optimization: Use a 'swapped' flag for early exit");
-        System.out.println("3. Pattern Recognition: Longest sorted prefix = answer");
-        System.out.println("4. Time Complexity: Simulation O(n²) average case");
+        System.out.println("3. Pattern Recognition: answer = n - passes, passes = max(index - sorted position)");
+        System.out.println("4. Time Complexity: Simulation O(n²) average case, sorted positions O(n log n)");
         System.out.println("5. Understanding invariants: What remains sorted after each pass");
         System.out.println("=".repeat(70));
     }
@@ -1,5 +1,7 @@
 import java.util.Arrays;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Daily Temperatures - Monotonic Stack Solution
@@ -46,6 +48,207 @@ public class DailyTemperatures {
         return answer;
     }
     
+    /**
+     * Same algorithm on an IntStack: no boxing, no locking. The stack starts
+     * small and grows only as deep as the longest run of non-warming days.
+     */
+    public static int[] dailyTemperaturesIntStack(int[] temperatures) {
+        int n = temperatures.length;
+        int[] answer = new int[n];
+        IntStack stack = new IntStack();
+        
+        for (int currDay = 0; currDay < n; currDay++) {
+            int currTemp = temperatures[currDay];
+            while (!stack.isEmpty() && temperatures[stack.peek()] < currTemp) {
+                int prevDay = stack.pop();
+                answer[prevDay] = currDay - prevDay;
+            }
+            stack.push(currDay);
+        }
+        
+        return answer;
+    }
+    
+    /**
+     * Backward scan, no stack at all: the answer array itself is the jump table.
+     *
+     * Going from the last day to the first, to find the next warmer day after
+     * day i we start at i + 1 and, while that day is not warmer, jump straight
+     * to ITS next warmer day (answer[j] days ahead) - everything in between is
+     * no warmer than day j, so it cannot be warmer than day i either. A day
+     * with answer 0 has no warmer day after it, so neither does day i.
+     *
+     * O(n) amortized like the stack, but reads only the two input arrays.
+     */
+    public static int[] dailyTemperaturesBackward(int[] temperatures) {
+        int n = temperatures.length;
+        int[] answer = new int[n];
+        
+        for (int currDay = n - 2; currDay >= 0; currDay--) {
+            int currTemp = temperatures[currDay];
+            int next = currDay + 1;
+            while (temperatures[next] <= currTemp) {
+                if (answer[next] == 0) {
+                    next = currDay;  // no warmer day ahead
+                    break;
+                }
+                next += answer[next];
+            }
+            answer[currDay] = next - currDay;
+        }
+        
+        return answer;
+    }
+    
+    /*
+     * Parallel variant for very long series, same answer array.
+     *
+     * Pass 1 (parallel, per chunk): the backward jump scan, confined to the
+     * chunk. Days with no warmer day inside their chunk keep answer 0; they
+     * are the chunk's suffix maxima, so their temperatures do not decrease
+     * from right to left.
+     *
+     * Pass 2 (parallel, per chunk): those unresolved days are taken right to
+     * left, i.e. in non-decreasing temperature order, so their answers lie at
+     * non-decreasing positions and one forward pointer serves them all. The
+     * pointer follows the pass 1 jumps through later chunks; at a day whose
+     * chunk has nothing warmer left it skips to the first later chunk whose
+     * maximum is warmer, found by binary lifting over a sparse table of chunk
+     * maxima.
+     *
+     * Pass 2 may read an answer another chunk is fixing at the same time; it
+     * sees either the pass 1 value 0 (and takes the chunk skip) or the final
+     * value (and jumps there). Both lead to the same day.
+     */
+    public static int[] dailyTemperaturesParallel(int[] temperatures) {
+        int chunk = Math.max(1 << 16, temperatures.length / (ForkJoinPool.getCommonPoolParallelism() * 4) + 1);
+        return dailyTemperaturesParallel(temperatures, ForkJoinPool.commonPool(), chunk);
+    }
+    
+    public static int[] dailyTemperaturesParallel(int[] temperatures, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        int n = temperatures.length;
+        int[] answer = new int[n];
+        int chunks = (int) (((long) n + chunkSize - 1) / chunkSize);
+        if (chunks == 0) {
+            return answer;
+        }
+        
+        int[] chunkMax = new int[chunks];
+        pool.invoke(new ChunkTask(temperatures, answer, chunkSize, 0, chunks, chunkMax, null));
+        
+        // maxTable[level][c] = max of chunkMax[c, c + 2^level)
+        int levels = 32 - Integer.numberOfLeadingZeros(chunks);
+        int[][] maxTable = new int[levels][];
+        maxTable[0] = chunkMax;
+        for (int level = 1; level < levels; level++) {
+            int[] prev = maxTable[level - 1];
+            int half = 1 << (level - 1);
+            int[] table = new int[chunks - (1 << level) + 1];
+            for (int c = 0; c < table.length; c++) {
+                table[c] = Math.max(prev[c], prev[c + half]);
+            }
+            maxTable[level] = table;
+        }
+        
+        pool.invoke(new ChunkTask(temperatures, answer, chunkSize, 0, chunks, chunkMax, maxTable));
+        return answer;
+    }
+    
+    /* Pass 1 when maxTable is null, pass 2 otherwise, over chunks [from, to). */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] temperatures;
+        private final int[] answer;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+        private final int[] chunkMax;
+        private final int[][] maxTable;
+        
+        ChunkTask(int[] temperatures, int[] answer, int chunkSize, int from, int to,
+                  int[] chunkMax, int[][] maxTable) {
+            this.temperatures = temperatures;
+            this.answer = answer;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+            this.chunkMax = chunkMax;
+            this.maxTable = maxTable;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(temperatures, answer, chunkSize, from, mid, chunkMax, maxTable),
+                          new ChunkTask(temperatures, answer, chunkSize, mid, to, chunkMax, maxTable));
+                return;
+            }
+            int start = (int) Math.min((long) from * chunkSize, temperatures.length);
+            int end = (int) Math.min((long) start + chunkSize, temperatures.length);
+            if (maxTable == null) {
+                resolveLocally(start, end);
+            } else {
+                resolveAcrossChunks(start, end);
+            }
+        }
+        
+        private void resolveLocally(int start, int end) {
+            int max = temperatures[end - 1];
+            for (int day = end - 2; day >= start; day--) {
+                int temp = temperatures[day];
+                max = Math.max(max, temp);
+                int next = day + 1;
+                while (temperatures[next] <= temp) {
+                    if (answer[next] == 0) {
+                        next = day;  // nothing warmer in this chunk
+                        break;
+                    }
+                    next += answer[next];
+                }
+                answer[day] = next - day;
+            }
+            chunkMax[from] = max;
+        }
+        
+        private void resolveAcrossChunks(int start, int end) {
+            int n = temperatures.length;
+            int next = end;
+            for (int day = end - 1; day >= start; day--) {
+                if (answer[day] != 0) {
+                    continue;
+                }
+                int temp = temperatures[day];
+                while (next < n && temperatures[next] <= temp) {
+                    int jump = answer[next];
+                    if (jump != 0) {
+                        next += jump;
+                    } else {
+                        // Nothing warmer than next remains in its chunk: skip to a warmer chunk
+                        int chunk = firstWarmerChunk(next / chunkSize + 1, temp);
+                        next = chunk == chunkMax.length ? n : chunk * chunkSize;
+                    }
+                }
+                answer[day] = next < n ? next - day : 0;
+            }
+        }
+        
+        // First chunk at or after c whose maximum exceeds temp, or the chunk count
+        private int firstWarmerChunk(int c, int temp) {
+            for (int level = maxTable.length - 1; level >= 0; level--) {
+                int[] table = maxTable[level];
+                if (c < table.length && table[c] <= temp) {
+                    c += 1 << level;
+                }
+            }
+            return c;
+        }
+    }
+    
     /**
      * Alternative approach with detailed step-by-step visualization
      */
@@ -150,5 +353,46 @@ public class DailyTemperatures {
         int[] result4 = dailyTemperaturesVerbose(temps4);
         System.out.println("\nExpected: [1, 1, 1, 0]");
         System.out.println("Got:      " + Arrays.toString(result4));
+        
+        // Stack-free and primitive-stack variants against the original
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("VARIANTS: IntStack and backward jump");
+        System.out.println("=".repeat(60));
+        System.out.println("Example 1 IntStack: " + Arrays.toString(dailyTemperaturesIntStack(temps1)));
+        System.out.println("Example 1 Backward: " + Arrays.toString(dailyTemperaturesBackward(temps1)));
+        java.util.Random random = new java.util.Random(21);
+        boolean match = true;
+        for (int trial = 0; trial < 1000; trial++) {
+            int n = random.nextInt(300);
+            int[] temps = new int[n];
+            for (int i = 0; i < n; i++) {
+                temps[i] = trial % 2 == 0 ? 30 + random.nextInt(71) : random.nextInt();
+            }
+            int[] expected = dailyTemperatures(temps);
+            match &= Arrays.equals(dailyTemperaturesIntStack(temps), expected)
+                    && Arrays.equals(dailyTemperaturesBackward(temps), expected);
+        }
+        System.out.println("1000 random series (30-100 degrees and full int range), both variants match: " + match);
+        
+        // Tiny chunks put most answers across chunk boundaries
+        ForkJoinPool pool = new ForkJoinPool(4);
+        boolean parallelMatch = true;
+        for (int trial = 0; trial < 1000; trial++) {
+            int n = random.nextInt(3000);
+            int[] temps = new int[n];
+            for (int i = 0; i < n; i++) {
+                temps[i] = switch (trial % 4) {
+                    case 0 -> 30 + random.nextInt(71);
+                    case 1 -> n - i + random.nextInt(3);  // mostly falling: long pending runs
+                    case 2 -> (i % 97) * ((i / 97) % 2 == 0 ? 1 : -1);  // sawtooth
+                    default -> random.nextInt();
+                };
+            }
+            int chunkSize = 1 + random.nextInt(200);
+            parallelMatch &= Arrays.equals(dailyTemperaturesParallel(temps, pool, chunkSize),
+                    dailyTemperaturesBackward(temps));
+        }
+        pool.shutdown();
+        System.out.println("1000 random series, chunk sizes 1-200, parallel matches: " + parallelMatch);
     }
 }
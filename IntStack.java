@@ -0,0 +1,81 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IntStack - growable stack of primitive ints
+ *
+ * Replacement for Stack<Integer> on hot paths: backed by a plain int[] that
+ * doubles when full, so push and pop never box, and unsynchronized (Stack
+ * extends Vector, which locks on every call). Not thread-safe.
+ */
+public final class IntStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        this.elements = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(size * 2, 1));
+        }
+        elements[size++] = value;
+    }
+
+    /** @throws NoSuchElementException if the stack is empty */
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("stack is empty");
+        }
+        return elements[--size];
+    }
+
+    /** @throws NoSuchElementException if the stack is empty */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("stack is empty");
+        }
+        return elements[size - 1];
+    }
+
+    /** The element at depth from the bottom (0 is the oldest). */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return elements[index];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Empties the stack, keeping its capacity for reuse. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** The elements from bottom to top. */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
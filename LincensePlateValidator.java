@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -10,9 +15,85 @@ import java.util.*;
  * - Only spaces, hyphens, and underscores allowed as separators
  * 
  * Output format: [REGION-]XXX-XXX
+ *
+ * Modes:
+ * - (default)  interactive, reads with Scanner and prints with System.out
+ * - --batch        buffered byte reader + single buffered output, same output bytes
+ * - --threads=N    parallel pipeline (reader -> N workers -> ordered writer), same output bytes
+ * - --file=PATH    memory-map PATH and validate regions in parallel; summary counts on stderr
+ * - --summary      with --file, print only the summary counts
+ * - --binary=PATH  write 16-byte binary records to PATH instead of the text report (see PlateRecordWriter)
+ * - --server=PORT  serve newline-delimited plates on 127.0.0.1:PORT (see PlateValidationServer)
+ * - --metrics[=R]  record counters, region counts and 1-in-R sampled latencies; snapshot on stderr
  */
 public class LincensePlateValidator {
-    public static void main(String[] args) {
+    private static final ValidatorService SERVICE = new ValidatorService();
+    
+    public static void main(String[] args) throws IOException {
+        boolean batch = false;
+        boolean summaryOnly = false;
+        int threads = 0;
+        int serverPort = -1;
+        String file = null;
+        String binary = null;
+        PlateMetrics metrics = null;
+        for (String arg : args) {
+            if (arg.equals("--batch")) {
+                batch = true;
+            } else if (arg.equals("--summary")) {
+                summaryOnly = true;
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--server=")) {
+                serverPort = Integer.parseInt(arg.substring("--server=".length()));
+            } else if (arg.equals("--metrics")) {
+                metrics = new PlateMetrics();
+            } else if (arg.startsWith("--metrics=")) {
+                metrics = new PlateMetrics(Integer.parseInt(arg.substring("--metrics=".length())));
+            } else if (arg.startsWith("--binary=")) {
+                binary = arg.substring("--binary=".length());
+            } else if (arg.startsWith("--file=")) {
+                file = arg.substring("--file=".length());
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        
+        ValidatorService service = metrics == null ? SERVICE : new ValidatorService(metrics);
+        if (serverPort >= 0) {
+            runServer(service, serverPort);
+            return;
+        }
+        if (binary != null && threads > 0) {
+            throw new IllegalArgumentException("--binary cannot be combined with --threads");
+        }
+        if (binary != null && batch) {
+            throw new IllegalArgumentException("--binary cannot be combined with --batch");
+        }
+        if (binary != null && summaryOnly) {
+            throw new IllegalArgumentException("--binary cannot be combined with --summary");
+        }
+        if (summaryOnly && file == null) {
+            throw new IllegalArgumentException("--summary requires --file");
+        }
+        try {
+            if (binary != null) {
+                try (InputStream in = file != null ? Files.newInputStream(Path.of(file)) : System.in) {
+                    runBinary(in, Path.of(binary), service);
+                }
+            } else if (file != null || threads > 0 || batch) {
+                runBulk(service, file, threads, batch, summaryOnly);
+            } else {
+                runInteractive(service);
+            }
+        } finally {
+            if (metrics != null) {
+                metrics.printSnapshot(System.err);
+            }
+        }
+    }
+    
+    private static void runInteractive(ValidatorService service) {
         Scanner scanner = new Scanner(System.in);
         int caseNumber = 1;
         
@@ -28,7 +109,7 @@ public class LincensePlateValidator {
             
             for (int i = 1; i <= n; i++) {
                 String plate = scanner.nextLine();
-                processPlate(i, plate);
+                processPlate(service, i, plate);
             }
             
             System.out.println();
@@ -38,8 +119,111 @@ public class LincensePlateValidator {
         scanner.close();
     }
     
-    private static void processPlate(int plateNumber, String input) {
-        ValidationResult result = validatePlate(input);
+    /**
+     * Serves until the process is stopped. With --metrics, a snapshot is
+     * printed to stderr whenever a line is entered on the server's stdin, and
+     * once more on shutdown.
+     */
+    private static void runServer(ValidatorService service, int port) throws IOException {
+        PlateValidationServer server = new PlateValidationServer(port, service);
+        System.err.println("Plate validation server listening on 127.0.0.1:" + server.port());
+        PlateMetrics metrics = service.metrics();
+        if (metrics != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> metrics.printSnapshot(System.err)));
+            Thread console = new Thread(() -> {
+                Scanner scanner = new Scanner(System.in);
+                while (scanner.hasNextLine()) {
+                    scanner.nextLine();
+                    metrics.printSnapshot(System.err);
+                }
+            }, "metrics-console");
+            console.setDaemon(true);
+            console.start();
+        }
+        try {
+            server.awaitTermination();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+    }
+    
+    private static void runBulk(ValidatorService service, String file, int threads, boolean batch,
+                                boolean summaryOnly) throws IOException {
+        if (file != null) {
+            int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            MappedPlateValidator validator = new MappedPlateValidator(workers, !summaryOnly, service);
+            try {
+                validator.run(Path.of(file), System.out);
+            } finally {
+                validator.printSummary(summaryOnly ? System.out : System.err);
+            }
+        } else if (threads > 0) {
+            new ParallelPlatePipeline(threads, ParallelPlatePipeline.DEFAULT_CHUNK_SIZE, service).run(System.in, System.out);
+        } else {
+            runBatch(System.in, System.out, service);
+        }
+    }
+    
+    /**
+     * Batch mode: same case-based input and byte-identical output as main's
+     * Scanner path, but reads through PlateLineReader and writes through a
+     * single PlateReportWriter buffer.
+     */
+    static void runBatch(InputStream in, OutputStream out, ValidatorService service) throws IOException {
+        PlateLineReader reader = new PlateLineReader(in);
+        PlateReportWriter writer = new PlateReportWriter(out);
+        int caseNumber = 1;
+
+        try {
+            while (true) {
+                int n = reader.nextInt();
+
+                if (n == 0) {
+                    break;
+                }
+
+                writer.caseHeader(caseNumber);
+
+                for (int i = 1; i <= n; i++) {
+                    writer.plate(i, service.validateCode(reader.nextLineView()));
+                }
+
+                writer.caseEnd();
+                caseNumber++;
+            }
+        } finally {
+            writer.flush();
+        }
+    }
+    
+    /**
+     * Binary mode: reads the case-based input like runBatch, but writes one
+     * fixed-width PlateRecordWriter record per plate instead of the text report.
+     */
+    static void runBinary(InputStream in, Path out, ValidatorService service) throws IOException {
+        PlateLineReader reader = new PlateLineReader(in);
+        try (PlateRecordWriter writer = new PlateRecordWriter(out)) {
+            int caseNumber = 1;
+            while (true) {
+                int n = reader.nextInt();
+
+                if (n == 0) {
+                    break;
+                }
+
+                if (n < 0) {
+                    writer.emptyCase(caseNumber);
+                }
+                for (int i = 1; i <= n; i++) {
+                    writer.plate(caseNumber, i, service.validateCode(reader.nextLineView()));
+                }
+                caseNumber++;
+            }
+        }
+    }
+    
+    private static void processPlate(ValidatorService service, int plateNumber, String input) {
+        ValidatorService.ValidationResult result = service.validate(input);
         
         if (result.isValid) {
             System.out.println("Plate " + plateNumber + ": " + result.formatted);
@@ -49,8 +233,16 @@ public class LincensePlateValidator {
         }
     }
     
-    private static ValidationResult validatePlate(String input) {
-        ValidationResult result = new ValidationResult();
+    static ValidatorService.ValidationResult validatePlate(String input) {
+        return SERVICE.validate(input);
+    }
+    
+    /**
+     * Original regex-based implementation, kept as the reference that
+     * PlateScanner is checked against.
+     */
+    static ValidatorService.ValidationResult validatePlateWithRegex(String input) {
+        ValidatorService.ValidationResult result = new ValidatorService.ValidationResult();
         
         // Step 1: Detect region code
         String regionCode = "";
@@ -131,10 +323,4 @@ public class LincensePlateValidator {
         
         return result;
     }
-    
-    private static class ValidationResult {
-        boolean isValid = false;
-        String formatted = "";
-        List<String> violations = new ArrayList<>();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,439 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Memory-Mapped Plate Validator
+ *
+ * Validates a plate file in place with FileChannel.map instead of streaming it
+ * through System.in:
+ *
+ * 1. The file is mapped in windows of up to 1 GB, each ending on a line break
+ * 2. A structural pass walks the lines of a window (only parsing the case
+ *    counts) and cuts it into regions of ~4 MB on line boundaries, recording
+ *    the case/plate position at the start of each region
+ * 3. Regions are validated in parallel straight from the mapped bytes through
+ *    a reused CharSequence view - no String per line - and their reports are
+ *    written in order, byte-identical to the Scanner path
+ *
+ * Summary counts (plates, valid, per violation) are collected per region and
+ * summed at the end.
+ */
+public class MappedPlateValidator {
+    private static final long MAX_WINDOW = 1L << 30;
+    private static final int REGION_BYTES = 1 << 22;
+
+    // Summary slots
+    private static final int PLATES = 0;
+    private static final int VALID = 1;
+    private static final int FIRST_VIOLATION = 2;
+
+    private final int threads;
+    private final boolean renderReport;
+    private final ValidatorService service;
+    private final AtomicLongArray summary = new AtomicLongArray(FIRST_VIOLATION + PlateScanner.VIOLATION_COUNT);
+
+    /**
+     * @param renderReport false to only collect summary counts (no per-plate text)
+     */
+    public MappedPlateValidator(int threads, boolean renderReport, ValidatorService service) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.threads = threads;
+        this.renderReport = renderReport;
+        this.service = service;
+    }
+
+    public void run(Path file, OutputStream out) throws IOException {
+        ExecutorService workers = ParallelPlatePipeline.newWorkerPool(threads);
+        BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(threads * 4);
+        Thread splitter = new Thread(() -> splitRegions(file, workers, pending), "plate-splitter");
+        splitter.setDaemon(true);
+        splitter.start();
+
+        try {
+            ParallelPlatePipeline.writeInOrder(pending, out);
+        } finally {
+            splitter.interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    public long plates() {
+        return summary.get(PLATES);
+    }
+
+    public long valid() {
+        return summary.get(VALID);
+    }
+
+    /** Number of plates reporting violation number index (bit 1 << index). */
+    public long violations(int index) {
+        return summary.get(FIRST_VIOLATION + index);
+    }
+
+    public void printSummary(PrintStream out) {
+        out.println("Plates: " + plates());
+        out.println("Valid: " + valid());
+        out.println("Invalid: " + (plates() - valid()));
+        for (int i = 0; i < PlateScanner.VIOLATION_COUNT; i++) {
+            out.println("  " + PlateScanner.violationMessage(i) + ": " + violations(i));
+        }
+    }
+
+    /**
+     * Structural pass: maps each window, cuts it into regions on line
+     * boundaries and submits them in file order. Ends the queue with a null
+     * report, or with a failed future after the regions preceding the error.
+     */
+    private void splitRegions(Path file, ExecutorService workers, BlockingQueue<Future<byte[]>> pending) {
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long windowStart = 0;
+                Cursor cursor = new Cursor();
+
+                while (windowStart < size && !cursor.done) {
+                    long windowSize = Math.min(MAX_WINDOW, size - windowStart);
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                    int limit = windowStart + windowSize == size ? (int) windowSize : endOfLastLine(window);
+
+                    int regionStart = 0;
+                    while (regionStart < limit && !cursor.done) {
+                        Cursor startState = cursor.copy();
+                        int regionEnd;
+                        try {
+                            regionEnd = walk(window, regionStart, limit, cursor, null, REGION_BYTES);
+                        } catch (RuntimeException e) {
+                            // Validate what precedes the bad line, then report the error
+                            if (cursor.lineStart > regionStart) {
+                                pending.put(workers.submit(new Region(window, regionStart, cursor.lineStart, startState)));
+                            }
+                            throw e;
+                        }
+                        pending.put(workers.submit(new Region(window, regionStart, regionEnd, startState)));
+                        regionStart = regionEnd;
+                    }
+                    windowStart += limit;
+                }
+
+                if (!cursor.done) {
+                    throw new NoSuchElementException(cursor.inCase ? "No line found" : null);
+                }
+            }
+            pending.put(CompletableFuture.completedFuture(null));
+        } catch (IOException | RuntimeException e) {
+            try {
+                pending.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException ignored) {
+                // Writer gave up
+            }
+        } catch (InterruptedException e) {
+            // Writer gave up; nothing left to hand over
+        }
+    }
+
+    /**
+     * End of the window's last complete line (just past its line break), so a
+     * window never splits a line.
+     */
+    private static int endOfLastLine(MappedByteBuffer window) {
+        for (int i = window.limit() - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        for (int i = window.limit() - 1; i >= 0; i--) {
+            if (window.get(i) == '\r') {
+                return i + 1;
+            }
+        }
+        throw new IllegalStateException("Line longer than " + MAX_WINDOW + " bytes");
+    }
+
+    /**
+     * Position in the case structure, carried from line to line (and from
+     * region to region).
+     */
+    private static final class Cursor {
+        int caseNumber = 1;
+        int plateNumber;
+        int caseSize;
+        boolean inCase;
+        boolean done;
+        boolean pendingLineFeed;
+        int lineStart;
+
+        Cursor copy() {
+            Cursor copy = new Cursor();
+            copy.caseNumber = caseNumber;
+            copy.plateNumber = plateNumber;
+            copy.caseSize = caseSize;
+            copy.inCase = inCase;
+            copy.done = done;
+            copy.pendingLineFeed = pendingLineFeed;
+            return copy;
+        }
+    }
+
+    /**
+     * Walks the lines of buffer[from, to) following the case structure.
+     * With a region, plate lines are validated into it; without one (the
+     * structural pass) only count lines are parsed, and the walk stops at the
+     * first line boundary past from + stopAfter.
+     *
+     * @return offset where the walk stopped (a line boundary)
+     */
+    private static int walk(MappedByteBuffer buffer, int from, int to, Cursor cursor, Region region, int stopAfter)
+            throws IOException {
+        int position = from;
+        int stopAt = stopAfter == Integer.MAX_VALUE ? to : (int) Math.min(to, (long) from + stopAfter);
+
+        while (position < to && position < stopAt && !cursor.done) {
+            if (cursor.pendingLineFeed) {
+                cursor.pendingLineFeed = false;
+                if (buffer.get(position) == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+
+            // Find the end of the line
+            int lineEnd = position;
+            int highBits = 0;
+            byte b = 0;
+            while (lineEnd < to) {
+                b = buffer.get(lineEnd);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                highBits |= b;
+                lineEnd++;
+            }
+            cursor.lineStart = position;
+
+            if (cursor.inCase) {
+                cursor.plateNumber++;
+                if (region != null) {
+                    region.plate(cursor, buffer, position, lineEnd, highBits >= 0);
+                }
+                if (cursor.plateNumber == cursor.caseSize) {
+                    cursor.inCase = false;
+                    cursor.caseNumber++;
+                }
+            } else {
+                countLine(buffer, position, lineEnd, cursor, region);
+            }
+
+            position = lineEnd;
+            if (lineEnd < to) {
+                position++;
+                cursor.pendingLineFeed = b == '\r';
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Parses a case count line the way Scanner.nextInt() + nextLine() would:
+     * blank lines are skipped, the token must be an integer, the rest of the
+     * line is ignored.
+     */
+    private static void countLine(MappedByteBuffer buffer, int from, int to, Cursor cursor, Region region)
+            throws IOException {
+        int i = from;
+        while (i < to && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        if (i == to) {
+            return; // blank line
+        }
+
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        if (i == to || buffer.get(i) < '0' || buffer.get(i) > '9') {
+            throw new InputMismatchException();
+        }
+        long value = 0;
+        while (i < to && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+            value = value * 10 + (buffer.get(i) - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new InputMismatchException();
+            }
+            i++;
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || (i < to && !isWhitespace(buffer.get(i)))) {
+            throw new InputMismatchException();
+        }
+
+        if (value == 0) {
+            cursor.done = true;
+        } else if (value < 0) {
+            if (region != null) {
+                region.emptyCase(cursor.caseNumber);
+            }
+            cursor.caseNumber++;
+        } else {
+            // Header goes out with the count, even if the plates never arrive
+            if (region != null) {
+                region.caseHeader(cursor.caseNumber);
+            }
+            cursor.inCase = true;
+            cursor.caseSize = (int) value;
+            cursor.plateNumber = 0;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    /**
+     * One region of a window: validated and rendered by a worker.
+     */
+    private final class Region implements Callable<byte[]> {
+        private final MappedByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final Cursor start;
+        private final MappedLineView view;
+        private PlateReportWriter writer;
+        private final long[] counts = new long[summary.length()];
+
+        Region(MappedByteBuffer buffer, int from, int to, Cursor start) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.start = start;
+            this.view = new MappedLineView(buffer);
+        }
+
+        @Override
+        public byte[] call() throws IOException {
+            ByteArrayOutputStream report = new ByteArrayOutputStream(renderReport ? (to - from) * 3 : 0);
+            if (renderReport) {
+                writer = new PlateReportWriter(report, 1 << 14);
+            }
+
+            walk(buffer, from, to, start, this, Integer.MAX_VALUE);
+
+            for (int i = 0; i < counts.length; i++) {
+                summary.addAndGet(i, counts[i]);
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            return report.toByteArray();
+        }
+
+        void plate(Cursor cursor, MappedByteBuffer buffer, int lineStart, int lineEnd, boolean ascii)
+                throws IOException {
+            CharSequence line;
+            if (ascii) {
+                view.set(lineStart, lineEnd - lineStart);
+                line = view;
+            } else {
+                byte[] bytes = new byte[lineEnd - lineStart];
+                buffer.get(lineStart, bytes);
+                line = new String(bytes, StandardCharsets.UTF_8);
+            }
+            long code = service.validateCode(line);
+
+            counts[PLATES]++;
+            if (PlateScanner.isValid(code)) {
+                counts[VALID]++;
+            } else {
+                int violations = PlateScanner.violations(code);
+                for (int i = 0; i < PlateScanner.VIOLATION_COUNT; i++) {
+                    if ((violations & (1 << i)) != 0) {
+                        counts[FIRST_VIOLATION + i]++;
+                    }
+                }
+            }
+
+            if (writer != null) {
+                writer.plate(cursor.plateNumber, code);
+                if (cursor.plateNumber == cursor.caseSize) {
+                    writer.caseEnd();
+                }
+            }
+        }
+
+        void caseHeader(int caseNumber) throws IOException {
+            if (writer != null) {
+                writer.caseHeader(caseNumber);
+            }
+        }
+
+        void emptyCase(int caseNumber) throws IOException {
+            if (writer != null) {
+                writer.caseHeader(caseNumber);
+                writer.caseEnd();
+            }
+        }
+    }
+
+    /**
+     * Reusable CharSequence over ASCII bytes of a mapped buffer.
+     */
+    private static final class MappedLineView implements CharSequence {
+        private final MappedByteBuffer buffer;
+        private int start;
+        private int length;
+
+        MappedLineView(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void set(int start, int length) {
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) buffer.get(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -1,4 +1,7 @@
 import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Merge {
     
@@ -72,6 +75,671 @@ public class Merge {
         }
     }
     
+    /*
+     * Primitive variant: same counts as countSmaller, without Element objects.
+     *
+     * Each entry is packed into one long as (value << 32) | originalIndex, so
+     * comparing two longs compares values first, and equal values compare by
+     * original index. Within a merge every left entry has a smaller index than
+     * every right entry, so "right < left" is exactly the strict
+     * "arr[j].value < arr[i].value" of merge().
+     *
+     * Runs of INSERTION_RUN entries are sorted by insertion sort, then merged
+     * bottom-up, ping-ponging between the packed array and one scratch buffer
+     * allocated once: three arrays in total, whatever the input size.
+     */
+    private static final int INSERTION_RUN = 32;
+    
+    public int[] countSmallerPrimitive(int[] nums) {
+        int n = nums.length;
+        int[] result = new int[n];
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(nums[i], i);
+        }
+        
+        sortCounting(packed, new long[n], 0, n, result);
+        
+        return result;
+    }
+    
+    static long pack(int value, int index) {
+        return (long) value << 32 | index;
+    }
+    
+    static int unpackIndex(long packed) {
+        return (int) packed;
+    }
+    
+    /**
+     * Sorts a[lo, hi), adding to counts the number of smaller entries that
+     * follow each entry within the range. b[lo, hi) is scratch.
+     *
+     * @return the array (a or b) that holds the sorted range
+     */
+    private static long[] sortCounting(long[] a, long[] b, int lo, int hi, int[] counts) {
+        for (int run = lo; run < hi; run += INSERTION_RUN) {
+            insertionSortCounting(a, run, Math.min(run + INSERTION_RUN, hi), counts);
+        }
+        
+        long[] src = a;
+        long[] dst = b;
+        for (long width = INSERTION_RUN; width < hi - lo; width *= 2) {
+            for (int left = lo; left < hi; ) {
+                int mid = (int) Math.min(left + width, hi);
+                int right = (int) Math.min(left + 2 * width, hi);
+                mergeCounting(src, dst, left, mid, mid, right, left, mid, counts);
+                left = right;
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        return src;
+    }
+    
+    // Every entry shifted right past x is greater than x and x comes after it
+    private static void insertionSortCounting(long[] a, int lo, int hi, int[] counts) {
+        for (int i = lo + 1; i < hi; i++) {
+            long x = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > x) {
+                counts[unpackIndex(a[j])]++;
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+    
+    /*
+     * Merges left src[i, iEnd) and right src[j, jEnd) into dst from k.
+     * rightStart is where the whole right run begins, so when a left entry is
+     * emitted at right position j, exactly j - rightStart right entries were
+     * smaller. Passing rightStart lets a merge of sub-ranges (the parallel
+     * merge below) count against the entire right run.
+     */
+    private static void mergeCounting(long[] src, long[] dst, int i, int iEnd, int j, int jEnd,
+                                      int k, int rightStart, int[] counts) {
+        while (i < iEnd && j < jEnd) {
+            long left = src[i];
+            long right = src[j];
+            if (right < left) {
+                dst[k++] = right;
+                j++;
+            } else {
+                counts[unpackIndex(left)] += j - rightStart;
+                dst[k++] = left;
+                i++;
+            }
+        }
+        
+        while (i < iEnd) {
+            counts[unpackIndex(src[i])] += jEnd - rightStart;
+            dst[k++] = src[i++];
+        }
+        
+        System.arraycopy(src, j, dst, k, jEnd - j);
+    }
+    
+    /*
+     * Fork-join variant: same counts as countSmaller, for large arrays.
+     *
+     * SortTask splits the range in half and sorts both halves as parallel
+     * RecursiveActions, ping-ponging between the packed array and the scratch
+     * buffer by depth so nothing is copied back. Ranges of at most threshold
+     * entries are packed and sorted with the sequential primitive path.
+     *
+     * The merge of two halves is parallel too. MergeTask takes the middle
+     * entry of the longer run, binary-searches its position in the other run,
+     * and merges the two pairs of sub-runs independently. Each left entry
+     * is emitted by exactly one sub-merge, which counts it against the whole
+     * right run (see mergeCounting), so counts need no synchronization.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+    
+    public int[] countSmallerParallel(int[] nums) {
+        return countSmallerParallel(nums, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * @param threshold ranges (and merges) up to this size run sequentially
+     */
+    public int[] countSmallerParallel(int[] nums, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        int n = nums.length;
+        int[] result = new int[n];
+        pool.invoke(new SortTask(nums, new long[n], new long[n], 0, n, true, result, threshold));
+        return result;
+    }
+    
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] nums;
+        private final long[] a;
+        private final long[] b;
+        private final int lo;
+        private final int hi;
+        private final boolean intoA;
+        private final int[] counts;
+        private final int threshold;
+        
+        SortTask(int[] nums, long[] a, long[] b, int lo, int hi, boolean intoA, int[] counts, int threshold) {
+            this.nums = nums;
+            this.a = a;
+            this.b = b;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoA = intoA;
+            this.counts = counts;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                for (int i = lo; i < hi; i++) {
+                    a[i] = pack(nums[i], i);
+                }
+                long[] sorted = sortCounting(a, b, lo, hi, counts);
+                long[] target = intoA ? a : b;
+                if (sorted != target) {
+                    System.arraycopy(sorted, lo, target, lo, hi - lo);
+                }
+                return;
+            }
+            
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(nums, a, b, lo, mid, !intoA, counts, threshold),
+                      new SortTask(nums, a, b, mid, hi, !intoA, counts, threshold));
+            
+            long[] src = intoA ? b : a;
+            long[] dst = intoA ? a : b;
+            new MergeTask(src, dst, lo, mid, mid, hi, lo, mid, counts, threshold).compute();
+        }
+    }
+    
+    private static final class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final long[] src;
+        private final long[] dst;
+        private final int i;
+        private final int iEnd;
+        private final int j;
+        private final int jEnd;
+        private final int k;
+        private final int rightStart;
+        private final int[] counts;
+        private final int threshold;
+        
+        MergeTask(long[] src, long[] dst, int i, int iEnd, int j, int jEnd, int k, int rightStart,
+                  int[] counts, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.i = i;
+            this.iEnd = iEnd;
+            this.j = j;
+            this.jEnd = jEnd;
+            this.k = k;
+            this.rightStart = rightStart;
+            this.counts = counts;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            int leftLength = iEnd - i;
+            int rightLength = jEnd - j;
+            // At least 3 entries guarantees the longer run has 2, so both halves shrink
+            if (leftLength + rightLength <= Math.max(threshold, 2) || leftLength == 0 || rightLength == 0) {
+                mergeCounting(src, dst, i, iEnd, j, jEnd, k, rightStart, counts);
+                return;
+            }
+            
+            // Packed entries are distinct, so every entry before the split point is smaller
+            int iSplit;
+            int jSplit;
+            if (leftLength >= rightLength) {
+                iSplit = (i + iEnd) >>> 1;
+                jSplit = lowerBound(src, j, jEnd, src[iSplit]);
+            } else {
+                jSplit = (j + jEnd) >>> 1;
+                iSplit = lowerBound(src, i, iEnd, src[jSplit]);
+            }
+            int kSplit = k + (iSplit - i) + (jSplit - j);
+            invokeAll(new MergeTask(src, dst, i, iSplit, j, jSplit, k, rightStart, counts, threshold),
+                      new MergeTask(src, dst, iSplit, iEnd, jSplit, jEnd, kSplit, rightStart, counts, threshold));
+        }
+    }
+    
+    // First index in a[lo, hi) whose entry is >= key
+    private static int lowerBound(long[] a, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /*
+     * Engine selection: every engine returns the same counts as countSmaller.
+     * - ELEMENT:  the original Element[] merge sort
+     * - PACKED:   countSmallerPrimitive, packed long[] merge sort
+     * - PARALLEL: countSmallerParallel on the common ForkJoinPool
+     * - FENWICK:  coordinate compression + Binary Indexed Tree, O(n log d) for
+     *             d distinct values; fastest when there are few distinct values
+     */
+    public enum Engine {
+        ELEMENT, PACKED, PARALLEL, FENWICK
+    }
+    
+    public int[] countSmaller(int[] nums, Engine engine) {
+        return switch (engine) {
+            case ELEMENT -> countSmaller(nums);
+            case PACKED -> countSmallerPrimitive(nums);
+            case PARALLEL -> countSmallerParallel(nums);
+            case FENWICK -> countSmallerFenwick(nums);
+        };
+    }
+    
+    /*
+     * Compresses values to ranks 1..d, then walks from the right: the entries
+     * already in the tree are exactly the ones after i, so a prefix count of
+     * ranks below rank[i] is the answer for i.
+     */
+    public int[] countSmallerFenwick(int[] nums) {
+        int n = nums.length;
+        int[] ranks = new int[n];
+        int distinct = compressRanks(nums, ranks);
+        
+        FenwickTree tree = new FenwickTree(distinct);
+        int[] result = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            result[i] = tree.prefixSum(ranks[i] - 1);
+            tree.add(ranks[i], 1);
+        }
+        return result;
+    }
+    
+    /**
+     * Writes the dense rank (1 = smallest value) of every entry into ranks.
+     *
+     * With few distinct values, a sorted, deduplicated copy is small and
+     * cache-resident, so each entry is binary-searched in it. Otherwise those
+     * searches would miss the cache on every probe, so the entries are sorted
+     * once as packed (value, index) pairs and ranked, and the distinct count
+     * read off, in one pass. A random sample of RANK_SAMPLE entries picks the
+     * path: s draws from d equally likely values repeat about s^2 / 2d times,
+     * so the search path is tried only when the sample repeats as often as
+     * d <= SEARCHABLE_DISTINCT would; if the copy then shows more distinct
+     * values than that, it falls back to the packed sort.
+     *
+     * @return number of distinct values
+     */
+    static int compressRanks(int[] nums, int[] ranks) {
+        int n = nums.length;
+        if (n <= SEARCHABLE_DISTINCT || sampleRepeats(nums) >= RANK_SAMPLE * RANK_SAMPLE / (2 * SEARCHABLE_DISTINCT)) {
+            int[] sorted = nums.clone();
+            Sorting.sort(sorted);
+            int distinct = dedupeSorted(sorted);
+            if (distinct <= SEARCHABLE_DISTINCT) {
+                for (int i = 0; i < n; i++) {
+                    ranks[i] = Arrays.binarySearch(sorted, 0, distinct, nums[i]) + 1;
+                }
+                return distinct;
+            }
+        }
+        
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(nums[i], i);
+        }
+        Sorting.sort(packed);
+        int rank = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || packed[i] >> 32 != packed[i - 1] >> 32) {
+                rank++;
+            }
+            ranks[unpackIndex(packed[i])] = rank;
+        }
+        return rank;
+    }
+    
+    // Draws RANK_SAMPLE entries (seeded, so a given input always takes the same path); returns how many repeat an earlier draw
+    private static int sampleRepeats(int[] nums) {
+        SplittableRandom random = new SplittableRandom(nums.length);
+        int[] sample = new int[RANK_SAMPLE];
+        for (int i = 0; i < RANK_SAMPLE; i++) {
+            sample[i] = nums[random.nextInt(nums.length)];
+        }
+        Sorting.sort(sample);
+        return RANK_SAMPLE - dedupeSorted(sample);
+    }
+    
+    private static final int SEARCHABLE_DISTINCT = 1 << 12;
+    private static final int RANK_SAMPLE = 1 << 10;
+    
+    // Moves the distinct values of a sorted array to its front; returns their count
+    private static int dedupeSorted(int[] sorted) {
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct;
+    }
+    
+    /**
+     * Binary Indexed Tree over positions 1..size holding counts.
+     */
+    static final class FenwickTree {
+        private final int[] tree;
+        
+        FenwickTree(int size) {
+            tree = new int[size + 1];
+        }
+        
+        void add(int position, int delta) {
+            for (int i = position; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+        
+        // Sum of positions 1..position
+        int prefixSum(int position) {
+            int sum = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+    
+    /**
+     * Value Counts - multiset of ints answering "how many are below x"
+     *
+     * Radix-bucketed on the 32-bit key space, so values need not be known in
+     * advance: a Binary Indexed Tree over the 2^16 high halves (sign bit
+     * flipped) counts values per bucket, and each bucket keeps its low halves
+     * in a sorted array until it holds DENSE_BUCKET values, then in its own
+     * 2^16-slot tree. add and the counts are O(log 2^16) plus a short array
+     * shift; memory is a fixed ~0.5 MB plus at most 64 bytes per value added.
+     */
+    static final class ValueCounts {
+        static final int DENSE_BUCKET = 4096;
+        
+        private final FenwickTree bucketCounts = new FenwickTree(1 << 16);
+        private final Bucket[] buckets = new Bucket[1 << 16];
+        private int size;
+        
+        void add(int value) {
+            int high = (value ^ Integer.MIN_VALUE) >>> 16;
+            Bucket bucket = buckets[high];
+            if (bucket == null) {
+                bucket = buckets[high] = new Bucket();
+            }
+            bucket.add(value & 0xFFFF);
+            bucketCounts.add(high + 1, 1);
+            size++;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int countLessThan(int value) {
+            int high = (value ^ Integer.MIN_VALUE) >>> 16;
+            int less = bucketCounts.prefixSum(high);
+            Bucket bucket = buckets[high];
+            return bucket == null ? less : less + bucket.countLessThan(value & 0xFFFF);
+        }
+        
+        int countGreaterThan(int value) {
+            int high = (value ^ Integer.MIN_VALUE) >>> 16;
+            int greater = size - bucketCounts.prefixSum(high + 1);
+            Bucket bucket = buckets[high];
+            return bucket == null ? greater : greater + bucket.size - bucket.countAtMost(value & 0xFFFF);
+        }
+        
+        // Low 16 bits of the values sharing one high half
+        private static final class Bucket {
+            private int[] lows = new int[8];  // sorted, duplicates kept; null once dense
+            private FenwickTree dense;
+            private int size;
+            
+            int countLessThan(int low) {
+                return dense != null ? dense.prefixSum(low) : search(low - 1);
+            }
+            
+            int countAtMost(int low) {
+                return dense != null ? dense.prefixSum(low + 1) : search(low);
+            }
+            
+            void add(int low) {
+                if (dense == null && size == DENSE_BUCKET) {
+                    dense = new FenwickTree(1 << 16);
+                    for (int i = 0; i < size; i++) {
+                        dense.add(lows[i] + 1, 1);
+                    }
+                    lows = null;
+                }
+                if (dense != null) {
+                    dense.add(low + 1, 1);
+                } else {
+                    if (size == lows.length) {
+                        lows = Arrays.copyOf(lows, size * 2);
+                    }
+                    int at = search(low);
+                    System.arraycopy(lows, at, lows, at + 1, size - at);
+                    lows[at] = low;
+                }
+                size++;
+            }
+            
+            // Number of entries in lows[0, size) that are at most low
+            private int search(int low) {
+                int from = 0;
+                int to = size;
+                while (from < to) {
+                    int mid = (from + to) >>> 1;
+                    if (lows[mid] <= low) {
+                        from = mid + 1;
+                    } else {
+                        to = mid;
+                    }
+                }
+                return from;
+            }
+        }
+    }
+    
+    /**
+     * Online Counter - incremental count-of-smaller over appended values
+     *
+     * Values are appended one at a time; at any point it answers, for every
+     * appended index, how many earlier and how many later values are smaller,
+     * without re-sorting. Values are arbitrary ints, not known in advance; the
+     * appended multiset lives in a ValueCounts.
+     *
+     * append() is O(log 2^16) and records how many earlier values were
+     * smaller. Later values only change the "after" side, which is derived as
+     * (values currently smaller than nums[i]) - (smaller before i).
+     */
+    public static final class OnlineCounter {
+        private final ValueCounts counts = new ValueCounts();
+        private int[] values = new int[16];
+        private int[] smallerBefore = new int[16];
+        private int size;
+        
+        /**
+         * @return the index of the appended value
+         * @throws IllegalStateException if Integer.MAX_VALUE values were already appended
+         */
+        public int append(int value) {
+            if (size == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Counter is full");
+            }
+            if (size == values.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+                values = Arrays.copyOf(values, capacity);
+                smallerBefore = Arrays.copyOf(smallerBefore, capacity);
+            }
+            values[size] = value;
+            smallerBefore[size] = counts.countLessThan(value);
+            counts.add(value);
+            return size++;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        /** Appended values before index that are smaller than it. */
+        public int smallerBefore(int index) {
+            checkIndex(index);
+            return smallerBefore[index];
+        }
+        
+        /** Appended values after index (so far) that are smaller than it. */
+        public int smallerAfter(int index) {
+            checkIndex(index);
+            return counts.countLessThan(values[index]) - smallerBefore[index];
+        }
+        
+        /** Appended values smaller than value. */
+        public int countSmallerThan(int value) {
+            return counts.countLessThan(value);
+        }
+        
+        /** Same result as countSmaller() on the values appended so far. */
+        public int[] smallerAfterAll() {
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = smallerAfter(i);
+            }
+            return result;
+        }
+        
+        private void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+        }
+    }
+    
+    /*
+     * Total inversion count: pairs i < j with nums[i] > nums[j], which is the
+     * sum of countSmaller() but without building the per-index counts, the
+     * packed indices or the Element objects. Sorts a plain int[] copy with the
+     * same insertion-run + bottom-up merge scheme and one scratch buffer, and
+     * accumulates in a long: a reversed array of n values has n(n-1)/2
+     * inversions, which passes 2^31 at n = 65,537.
+     */
+    public long countInversions(int[] nums) {
+        int n = nums.length;
+        int[] src = nums.clone();
+        long inversions = 0;
+        
+        for (int run = 0; run < n; run += INSERTION_RUN) {
+            int hi = Math.min(run + INSERTION_RUN, n);
+            for (int i = run + 1; i < hi; i++) {
+                int x = src[i];
+                int j = i - 1;
+                while (j >= run && src[j] > x) {
+                    src[j + 1] = src[j];
+                    j--;
+                }
+                inversions += i - 1 - j;
+                src[j + 1] = x;
+            }
+        }
+        
+        int[] dst = new int[n];
+        for (long width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; ) {
+                int mid = (int) Math.min(lo + width, n);
+                int hi = (int) Math.min(lo + 2 * width, n);
+                inversions += mergeInversions(src, dst, lo, mid, hi);
+                lo = hi;
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        
+        return inversions;
+    }
+    
+    // Each right entry emitted before the left run is exhausted jumps mid - i left entries
+    private static long mergeInversions(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        long inversions = 0;
+        
+        while (i < mid && j < hi) {
+            if (src[j] < src[i]) {
+                inversions += mid - i;
+                dst[k++] = src[j++];
+            } else {
+                dst[k++] = src[i++];
+            }
+        }
+        
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+        return inversions;
+    }
+    
+    /**
+     * Inversion Tracker - running inversion count over an appended stream
+     *
+     * Each append(x) adds the number of earlier values greater than x. Values
+     * are arbitrary ints, not known in advance; the appended multiset lives in
+     * a ValueCounts, so append is O(log 2^16) plus a short array shift, and
+     * the running total is a long.
+     */
+    public static final class InversionTracker {
+        private final ValueCounts counts = new ValueCounts();
+        private long inversions;
+        
+        /**
+         * @return the inversions added by this value (earlier values greater than it)
+         * @throws IllegalStateException if Integer.MAX_VALUE values were already appended
+         */
+        public int append(int value) {
+            if (counts.size() == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Tracker is full");
+            }
+            int greaterBefore = counts.countGreaterThan(value);
+            counts.add(value);
+            inversions += greaterBefore;
+            return greaterBefore;
+        }
+        
+        /** Appended values greater than value. */
+        public int countGreaterThan(int value) {
+            return counts.countGreaterThan(value);
+        }
+        
+        public int size() {
+            return counts.size();
+        }
+        
+        public long inversions() {
+            return inversions;
+        }
+    }
+    
     public static void main(String[] args) {
         Merge solution = new Merge();
         
@@ -99,5 +767,186 @@ public class Merge {
         int[] result3 = solution.countSmaller(nums3);
         System.out.println("Input: nums = " + Arrays.toString(nums3));
         System.out.println("Output: counts = " + Arrays.toString(result3));
+        System.out.println();
+        
+        System.out.println("=== PRIMITIVE VARIANT (packed long[], one scratch buffer) ===\n");
+        int[] primitive1 = new Merge().countSmallerPrimitive(nums1);
+        System.out.println("Input: nums = " + Arrays.toString(nums1));
+        System.out.println("Output: counts = " + Arrays.toString(primitive1));
+        System.out.println("Match: " + Arrays.equals(result1, primitive1));
+        
+        java.util.Random random = new java.util.Random(7);
+        boolean allMatch = true;
+        for (int trial = 0; trial < 500; trial++) {
+            int n = random.nextInt(300);
+            int bound = trial % 2 == 0 ? 10 : Integer.MAX_VALUE;
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = trial % 3 == 0 ? random.nextInt() : random.nextInt(bound) - bound / 2;
+            }
+            allMatch &= Arrays.equals(new Merge().countSmaller(nums), new Merge().countSmallerPrimitive(nums));
+        }
+        System.out.println("500 random arrays (duplicates, negatives, extremes) match countSmaller: " + allMatch);
+        System.out.println();
+        
+        System.out.println("=== FORK-JOIN VARIANT ===\n");
+        int[] parallel1 = new Merge().countSmallerParallel(nums1);
+        System.out.println("Input: nums = " + Arrays.toString(nums1));
+        System.out.println("Output: counts = " + Arrays.toString(parallel1));
+        System.out.println("Match: " + Arrays.equals(result1, parallel1));
+        
+        // Tiny thresholds force deep task trees and split merges on small inputs
+        ForkJoinPool pool = new ForkJoinPool(4);
+        boolean parallelMatch = true;
+        for (int trial = 0; trial < 300; trial++) {
+            int n = random.nextInt(3000);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = trial % 2 == 0 ? random.nextInt(20) : random.nextInt();
+            }
+            int threshold = 1 + random.nextInt(64);
+            parallelMatch &= Arrays.equals(new Merge().countSmallerPrimitive(nums),
+                    new Merge().countSmallerParallel(nums, pool, threshold));
+        }
+        pool.shutdown();
+        System.out.println("300 random arrays, thresholds 1-64, match countSmallerPrimitive: " + parallelMatch);
+        System.out.println();
+        
+        System.out.println("=== FENWICK ENGINE AND ONLINE MODE ===\n");
+        int[] fenwick1 = new Merge().countSmaller(nums1, Engine.FENWICK);
+        System.out.println("Input: nums = " + Arrays.toString(nums1));
+        System.out.println("Output: counts = " + Arrays.toString(fenwick1));
+        System.out.println("Match: " + Arrays.equals(result1, fenwick1));
+        
+        OnlineCounter online = new OnlineCounter();
+        for (int value : nums1) {
+            online.append(value);
+            System.out.println("Appended " + value + " -> smaller after so far: "
+                    + Arrays.toString(online.smallerAfterAll()));
+        }
+        System.out.println("Smaller before each: [" + online.smallerBefore(0) + ", " + online.smallerBefore(1)
+                + ", " + online.smallerBefore(2) + ", " + online.smallerBefore(3) + "]  (Expected: [0, 0, 2, 0])");
+        
+        boolean engineMatch = true;
+        for (int trial = 0; trial < 300; trial++) {
+            int n = random.nextInt(500);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = trial % 2 == 0 ? random.nextInt(8) - 4 : random.nextInt();
+            }
+            int[] expected = new Merge().countSmaller(nums);
+            for (Engine engine : Engine.values()) {
+                engineMatch &= Arrays.equals(expected, new Merge().countSmaller(nums, engine));
+            }
+            OnlineCounter counter = new OnlineCounter();
+            for (int i = 0; i < n; i++) {
+                counter.append(nums[i]);
+            }
+            engineMatch &= Arrays.equals(expected, counter.smallerAfterAll());
+        }
+        System.out.println("300 random arrays, every engine and online mode match countSmaller: " + engineMatch);
+        
+        // Large arrays for compressRanks: past SEARCHABLE_DISTINCT (packed-pair sort),
+        // few distinct (binary search), and a sample dominated by one value
+        // although there are thousands of others (search path tried, then abandoned)
+        boolean largeEngineMatch = true;
+        for (int trial = 0; trial < 12; trial++) {
+            int n = 20_000 + random.nextInt(45_000);
+            int[] nums = new int[n];
+            for (int i = 0; i < n; i++) {
+                nums[i] = switch (trial % 4) {
+                    case 0 -> random.nextInt();
+                    case 1 -> random.nextInt(1000);
+                    case 2 -> random.nextInt(4) == 0 ? random.nextInt() : 0;
+                    default -> random.nextInt(3 * SEARCHABLE_DISTINCT);
+                };
+            }
+            int[] expected = new Merge().countSmaller(nums);
+            for (Engine engine : Engine.values()) {
+                largeEngineMatch &= Arrays.equals(expected, new Merge().countSmaller(nums, engine));
+            }
+        }
+        System.out.println("12 arrays of 20000-65000 values (up to all distinct), every engine matches countSmaller: "
+                + largeEngineMatch);
+        System.out.println();
+        
+        System.out.println("=== TOTAL INVERSIONS ===\n");
+        System.out.println("Input: nums = " + Arrays.toString(nums1));
+        System.out.println("Expected: 4");
+        System.out.println("Got: " + solution.countInversions(nums1));
+        
+        int n = 100_000;
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            reversed[i] = n - i;
+        }
+        long expectedReversed = (long) n * (n - 1) / 2;
+        long gotReversed = solution.countInversions(reversed);
+        System.out.println("Reversed 1..100000 (past 2^31): Expected: " + expectedReversed
+                + ", Got: " + gotReversed + ", Match: " + (expectedReversed == gotReversed));
+        
+        InversionTracker tracker = new InversionTracker();
+        for (int value : reversed) {
+            tracker.append(value);
+        }
+        System.out.println("InversionTracker on the same stream: Expected: " + expectedReversed
+                + ", Got: " + tracker.inversions() + ", Match: " + (expectedReversed == tracker.inversions()));
+        
+        boolean inversionMatch = true;
+        for (int trial = 0; trial < 300; trial++) {
+            int size = random.nextInt(500);
+            int[] nums = new int[size];
+            for (int i = 0; i < size; i++) {
+                nums[i] = trial % 2 == 0 ? random.nextInt(8) : random.nextInt();
+            }
+            long expected = 0;
+            for (int count : new Merge().countSmaller(nums)) {
+                expected += count;
+            }
+            InversionTracker stream = new InversionTracker();
+            for (int value : nums) {
+                stream.append(value);
+            }
+            inversionMatch &= expected == solution.countInversions(nums) && expected == stream.inversions();
+        }
+        System.out.println("300 random arrays, countInversions and tracker match sum of countSmaller: "
+                + inversionMatch);
+        
+        // Values drawn as they arrive, so nothing about them is known up front;
+        // the tracker's running total is checked against countInversions, and the
+        // online counter against countSmaller, of the prefix so far
+        boolean streamMatch = true;
+        for (int trial = 0; trial < 20; trial++) {
+            InversionTracker live = new InversionTracker();
+            OnlineCounter liveCounter = new OnlineCounter();
+            int[] seen = new int[6000];
+            for (int i = 0; i < seen.length; i++) {
+                int value = switch (trial % 4) {
+                    case 0 -> random.nextInt();
+                    case 1 -> random.nextInt(16);  // one bucket, past ValueCounts.DENSE_BUCKET
+                    case 2 -> random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(4) : Integer.MAX_VALUE - random.nextInt(4);
+                    default -> i % 100 == 0 ? random.nextInt() : i * (trial + 1);
+                };
+                seen[i] = value;
+                int added = live.append(value);
+                int index = liveCounter.append(value);
+                int greater = 0;
+                int smaller = 0;
+                for (int j = 0; j < i; j++) {
+                    if (seen[j] > value) {
+                        greater++;
+                    } else if (seen[j] < value) {
+                        smaller++;
+                    }
+                }
+                streamMatch &= added == greater && liveCounter.smallerBefore(index) == smaller;
+                if (i % 500 == 499) {
+                    int[] prefix = Arrays.copyOf(seen, i + 1);
+                    streamMatch &= live.inversions() == solution.countInversions(prefix)
+                            && Arrays.equals(liveCounter.smallerAfterAll(), new Merge().countSmaller(prefix));
+                }
+            }
+        }
+        System.out.println("20 streams of 6000 values unknown in advance, tracker and online counter match: " + streamMatch);
     }
 }
@@ -0,0 +1,379 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Monotonic Stack - nearest-element queries in one pass
+ *
+ * The DailyTemperatures pattern, generalized. For every index i of an int[],
+ * long[] or double[]:
+ * - next(a, r):     the first j > i with a[j] r a[i], or n if none
+ * - previous(a, r): the last j < i with a[j] r a[i], or -1 if none
+ * - bounds(a, r):   both at once, from a single sweep (see Bounds)
+ *
+ * where r is one of GREATER, GREATER_OR_EQUAL, SMALLER, SMALLER_OR_EQUAL.
+ * DailyTemperatures is next(a, GREATER)[i] - i (0 where none).
+ *
+ * A relation is a direction (greater or smaller) and a strictness, so one
+ * loop per element type serves all four: comparisons go through
+ * Integer/Long/Double.compare with the operands swapped for SMALLER, and an
+ * index is popped when the comparison reaches the relation's threshold (1 for
+ * strict, 0 otherwise). Doubles follow Double.compare: -0.0 < 0.0 and NaN is
+ * above everything.
+ *
+ * The stack is a plain int[] of indices sized to the input; nothing is boxed
+ * and nothing else is allocated besides the result arrays.
+ */
+public final class MonotonicStack {
+
+    public enum Relation {
+        GREATER(true, true),
+        GREATER_OR_EQUAL(true, false),
+        SMALLER(false, true),
+        SMALLER_OR_EQUAL(false, false);
+
+        final boolean greater;
+        final boolean strict;
+
+        Relation(boolean greater, boolean strict) {
+            this.greater = greater;
+            this.strict = strict;
+        }
+
+        /** Same direction, opposite strictness: GREATER <-> GREATER_OR_EQUAL. */
+        public Relation flipStrictness() {
+            return switch (this) {
+                case GREATER -> GREATER_OR_EQUAL;
+                case GREATER_OR_EQUAL -> GREATER;
+                case SMALLER -> SMALLER_OR_EQUAL;
+                case SMALLER_OR_EQUAL -> SMALLER;
+            };
+        }
+    }
+
+    /**
+     * Result of bounds(a, r): next[i] is the first j > i with a[j] r a[i] (n if
+     * none) and previous[i] the last j < i with a[j] r.flipStrictness() a[i]
+     * (-1 if none).
+     *
+     * The strictness differs on purpose: with r = SMALLER_OR_EQUAL, a[i] is
+     * the minimum of exactly the subarrays starting in (previous[i], i] and
+     * ending in [i, next[i]), and subarrays whose minimum occurs several times
+     * are assigned to one occurrence only (see sumOfSubarrayMinimums).
+     */
+    public static final class Bounds {
+        private final int[] previous;
+        private final int[] next;
+
+        Bounds(int[] previous, int[] next) {
+            this.previous = previous;
+            this.next = next;
+        }
+
+        public int[] previous() {
+            return previous;
+        }
+
+        public int[] next() {
+            return next;
+        }
+    }
+
+    private MonotonicStack() {
+    }
+
+    /* ============================================================================
+     * int[]
+     * ============================================================================ */
+
+    public static int[] next(int[] a, Relation relation) {
+        int[] next = new int[a.length];
+        sweep(a, relation, null, next);
+        return next;
+    }
+
+    public static int[] previous(int[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        // The stack keeps exactly the candidates that do not stand in relation to a later element
+        sweep(a, relation.flipStrictness(), previous, null);
+        return previous;
+    }
+
+    public static Bounds bounds(int[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        int[] next = new int[a.length];
+        sweep(a, relation, previous, next);
+        return new Bounds(previous, next);
+    }
+
+    /*
+     * Scans left to right. An index on the stack is popped by the first later
+     * element standing in relation to it, which is its next; what remains on
+     * top after popping is then the previous of the new element, for the
+     * opposite strictness. Either output may be null.
+     */
+    private static void sweep(int[] a, Relation relation, int[] previous, int[] next) {
+        int n = a.length;
+        int[] stack = new int[n];
+        int top = 0;
+        boolean greater = relation.greater;
+        int threshold = relation.strict ? 1 : 0;
+
+        for (int i = 0; i < n; i++) {
+            int x = a[i];
+            while (top > 0) {
+                int y = a[stack[top - 1]];
+                int cmp = greater ? Integer.compare(x, y) : Integer.compare(y, x);
+                if (cmp < threshold) {
+                    break;
+                }
+                int popped = stack[--top];
+                if (next != null) {
+                    next[popped] = i;
+                }
+            }
+            if (previous != null) {
+                previous[i] = top > 0 ? stack[top - 1] : -1;
+            }
+            stack[top++] = i;
+        }
+
+        if (next != null) {
+            while (top > 0) {
+                next[stack[--top]] = n;
+            }
+        }
+    }
+
+    /* ============================================================================
+     * long[]
+     * ============================================================================ */
+
+    public static int[] next(long[] a, Relation relation) {
+        int[] next = new int[a.length];
+        sweep(a, relation, null, next);
+        return next;
+    }
+
+    public static int[] previous(long[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        sweep(a, relation.flipStrictness(), previous, null);
+        return previous;
+    }
+
+    public static Bounds bounds(long[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        int[] next = new int[a.length];
+        sweep(a, relation, previous, next);
+        return new Bounds(previous, next);
+    }
+
+    private static void sweep(long[] a, Relation relation, int[] previous, int[] next) {
+        int n = a.length;
+        int[] stack = new int[n];
+        int top = 0;
+        boolean greater = relation.greater;
+        int threshold = relation.strict ? 1 : 0;
+
+        for (int i = 0; i < n; i++) {
+            long x = a[i];
+            while (top > 0) {
+                long y = a[stack[top - 1]];
+                int cmp = greater ? Long.compare(x, y) : Long.compare(y, x);
+                if (cmp < threshold) {
+                    break;
+                }
+                int popped = stack[--top];
+                if (next != null) {
+                    next[popped] = i;
+                }
+            }
+            if (previous != null) {
+                previous[i] = top > 0 ? stack[top - 1] : -1;
+            }
+            stack[top++] = i;
+        }
+
+        if (next != null) {
+            while (top > 0) {
+                next[stack[--top]] = n;
+            }
+        }
+    }
+
+    /* ============================================================================
+     * double[]
+     * ============================================================================ */
+
+    public static int[] next(double[] a, Relation relation) {
+        int[] next = new int[a.length];
+        sweep(a, relation, null, next);
+        return next;
+    }
+
+    public static int[] previous(double[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        sweep(a, relation.flipStrictness(), previous, null);
+        return previous;
+    }
+
+    public static Bounds bounds(double[] a, Relation relation) {
+        int[] previous = new int[a.length];
+        int[] next = new int[a.length];
+        sweep(a, relation, previous, next);
+        return new Bounds(previous, next);
+    }
+
+    private static void sweep(double[] a, Relation relation, int[] previous, int[] next) {
+        int n = a.length;
+        int[] stack = new int[n];
+        int top = 0;
+        boolean greater = relation.greater;
+        int threshold = relation.strict ? 1 : 0;
+
+        for (int i = 0; i < n; i++) {
+            double x = a[i];
+            while (top > 0) {
+                double y = a[stack[top - 1]];
+                int cmp = greater ? Double.compare(x, y) : Double.compare(y, x);
+                if (cmp < threshold) {
+                    break;
+                }
+                int popped = stack[--top];
+                if (next != null) {
+                    next[popped] = i;
+                }
+            }
+            if (previous != null) {
+                previous[i] = top > 0 ? stack[top - 1] : -1;
+            }
+            stack[top++] = i;
+        }
+
+        if (next != null) {
+            while (top > 0) {
+                next[stack[--top]] = n;
+            }
+        }
+    }
+
+    /* ============================================================================
+     * AGGREGATES
+     * ============================================================================ */
+
+    /**
+     * Sum of min(sub) over all contiguous subarrays, in one bounds sweep:
+     * a[i] is the minimum of (i - previous[i]) * (next[i] - i) subarrays.
+     */
+    public static long sumOfSubarrayMinimums(int[] a) {
+        Bounds bounds = bounds(a, Relation.SMALLER_OR_EQUAL);
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (long) a[i] * (i - bounds.previous[i]) * (bounds.next[i] - i);
+        }
+        return sum;
+    }
+
+    /* ============================================================================
+     * TEST CASES
+     * ============================================================================ */
+
+    public static void main(String[] args) {
+        System.out.println("=== MONOTONIC STACK ===\n");
+        int[] temps = {73, 74, 75, 71, 69, 72, 76, 73};
+        int[] next = next(temps, Relation.GREATER);
+        int[] waits = new int[temps.length];
+        for (int i = 0; i < temps.length; i++) {
+            waits[i] = next[i] == temps.length ? 0 : next[i] - i;
+        }
+        System.out.println("Input: " + Arrays.toString(temps));
+        System.out.println("next GREATER as wait days: Expected: " + Arrays.toString(DailyTemperatures.dailyTemperatures(temps)));
+        System.out.println("                           Got:      " + Arrays.toString(waits));
+
+        int[] mins = {3, 1, 2, 4};
+        System.out.println("\nsumOfSubarrayMinimums(" + Arrays.toString(mins) + "): Expected: 17, Got: "
+                + sumOfSubarrayMinimums(mins));
+        System.out.println();
+
+        // Every relation and type against a quadratic scan
+        Random random = new Random(24);
+        for (Relation relation : Relation.values()) {
+            boolean match = true;
+            for (int trial = 0; trial < 300; trial++) {
+                int n = random.nextInt(200);
+                int[] ints = new int[n];
+                long[] longs = new long[n];
+                double[] doubles = new double[n];
+                for (int i = 0; i < n; i++) {
+                    ints[i] = trial % 2 == 0 ? random.nextInt(5) : random.nextInt();
+                    longs[i] = ints[i] * 3_000_000_000L;
+                    doubles[i] = trial % 3 == 0 && random.nextInt(20) == 0 ? Double.NaN : ints[i] / 4.0;
+                }
+                int[] expectedNext = new int[n];
+                int[] expectedPrevious = new int[n];
+                int[] expectedFlipped = new int[n];
+                int[] expectedNextDouble = new int[n];
+                for (int i = 0; i < n; i++) {
+                    expectedNext[i] = n;
+                    expectedNextDouble[i] = n;
+                    for (int j = n - 1; j > i; j--) {
+                        if (holds(Integer.compare(ints[j], ints[i]), relation)) {
+                            expectedNext[i] = j;
+                        }
+                        if (holds(Double.compare(doubles[j], doubles[i]), relation)) {
+                            expectedNextDouble[i] = j;
+                        }
+                    }
+                    expectedPrevious[i] = -1;
+                    expectedFlipped[i] = -1;
+                    for (int j = 0; j < i; j++) {
+                        if (holds(Integer.compare(ints[j], ints[i]), relation)) {
+                            expectedPrevious[i] = j;
+                        }
+                        if (holds(Integer.compare(ints[j], ints[i]), relation.flipStrictness())) {
+                            expectedFlipped[i] = j;
+                        }
+                    }
+                }
+                Bounds bounds = bounds(ints, relation);
+                Bounds longBounds = bounds(longs, relation);
+                match &= Arrays.equals(next(ints, relation), expectedNext)
+                        && Arrays.equals(previous(ints, relation), expectedPrevious)
+                        && Arrays.equals(bounds.next(), expectedNext)
+                        && Arrays.equals(bounds.previous(), expectedFlipped)
+                        && Arrays.equals(next(longs, relation), expectedNext)
+                        && Arrays.equals(previous(longs, relation), expectedPrevious)
+                        && Arrays.equals(longBounds.next(), expectedNext)
+                        && Arrays.equals(longBounds.previous(), expectedFlipped)
+                        && Arrays.equals(next(doubles, relation), expectedNextDouble)
+                        && Arrays.equals(bounds(doubles, relation).next(), expectedNextDouble);
+            }
+            System.out.println("300 random arrays, " + relation + ": int/long/double next, previous and bounds"
+                    + " match a quadratic scan: " + match);
+        }
+
+        boolean sumMatch = true;
+        for (int trial = 0; trial < 300; trial++) {
+            int n = random.nextInt(100);
+            int[] a = new int[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = random.nextInt(trial % 2 == 0 ? 4 : 1_000_000);
+            }
+            long expected = 0;
+            for (int i = 0; i < n; i++) {
+                int min = Integer.MAX_VALUE;
+                for (int j = i; j < n; j++) {
+                    min = Math.min(min, a[j]);
+                    expected += min;
+                }
+            }
+            sumMatch &= sumOfSubarrayMinimums(a) == expected;
+        }
+        System.out.println("300 random arrays (with duplicates): sumOfSubarrayMinimums matches brute force: " + sumMatch);
+    }
+
+    // Whether a[j] r a[i], given cmp = compare(a[j], a[i])
+    private static boolean holds(int cmp, Relation relation) {
+        int directed = relation.greater ? cmp : -cmp;
+        return relation.strict ? directed > 0 : directed >= 0;
+    }
+}
@@ -0,0 +1,247 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel Plate Validation Pipeline
+ *
+ * reader -> chunked workers -> ordered writer
+ *
+ * - Reader thread: parses the case-based input and copies plate lines into
+ *   chunks of up to chunkSize lines, each line tagged with its case/plate number
+ * - Workers: validate a whole chunk with ValidatorService and render its report text
+ * - Writer (calling thread): takes chunk results in submission order, so the
+ *   output is byte-identical to the sequential --batch path
+ *
+ * A bounded queue of pending chunks keeps memory flat however large the input is.
+ */
+public class ParallelPlatePipeline {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final int threads;
+    private final int chunkSize;
+    private final ValidatorService service;
+
+    public ParallelPlatePipeline(int threads) {
+        this(threads, DEFAULT_CHUNK_SIZE, new ValidatorService());
+    }
+
+    public ParallelPlatePipeline(int threads, int chunkSize, ValidatorService service) {
+        if (threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("threads and chunkSize must be positive");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.service = service;
+    }
+
+    public void run(InputStream in, OutputStream out) throws IOException {
+        ExecutorService workers = newWorkerPool(threads);
+        BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(threads * 4);
+        Thread reader = new Thread(() -> readChunks(in, workers, pending), "plate-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            writeInOrder(pending, out);
+        } finally {
+            reader.interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    static ExecutorService newWorkerPool(int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "plate-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ordered writer: writes each report as its future completes, in queue
+     * order, until a null report. A failed future is rethrown after flushing
+     * everything before it.
+     */
+    static void writeInOrder(BlockingQueue<Future<byte[]>> pending, OutputStream out) throws IOException {
+        try {
+            while (true) {
+                byte[] report = pending.take().get();
+                if (report == null) {
+                    break;
+                }
+                out.write(report);
+            }
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing plate report", e);
+        } catch (ExecutionException e) {
+            out.flush();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Reader loop. Ends the queue with a null report, or with a failed future
+     * carrying the read/parse error (after everything read before it).
+     */
+    private void readChunks(InputStream in, ExecutorService workers, BlockingQueue<Future<byte[]>> pending) {
+        try {
+            Chunk chunk = new Chunk(chunkSize, service);
+            try {
+                PlateLineReader reader = new PlateLineReader(in);
+                int caseNumber = 1;
+
+                while (true) {
+                    int n = reader.nextInt();
+
+                    if (n == 0) {
+                        break;
+                    }
+
+                    // Header goes out with the count, even if the plates never arrive
+                    chunk.addCaseHeader(caseNumber, n < 0);
+                    chunk = submitIfFull(chunk, workers, pending);
+                    for (int i = 1; i <= n; i++) {
+                        reader.advanceLine();
+                        chunk.add(caseNumber, i, i == n, reader);
+                        chunk = submitIfFull(chunk, workers, pending);
+                    }
+                    caseNumber++;
+                }
+
+                if (chunk.size > 0) {
+                    pending.put(workers.submit(chunk));
+                }
+                pending.put(CompletableFuture.completedFuture(null));
+            } catch (IOException | RuntimeException e) {
+                // Report everything read before the failure, like the sequential path
+                if (chunk.size > 0) {
+                    pending.put(workers.submit(chunk));
+                }
+                pending.put(CompletableFuture.failedFuture(e));
+            }
+        } catch (InterruptedException e) {
+            // Writer gave up; nothing left to hand over
+        }
+    }
+
+    private Chunk submitIfFull(Chunk chunk, ExecutorService workers, BlockingQueue<Future<byte[]>> pending)
+            throws InterruptedException {
+        if (chunk.size < chunkSize) {
+            return chunk;
+        }
+        pending.put(workers.submit(chunk));
+        return new Chunk(chunkSize, service);
+    }
+
+    /**
+     * A batch of plate lines copied out of the reader buffer, validated and
+     * rendered by one worker.
+     */
+    private static final class Chunk implements Callable<byte[]> {
+        private final ValidatorService service;
+        // Entry flags
+        private static final byte FIRST_IN_CASE = 1;
+        private static final byte LAST_IN_CASE = 1 << 1;
+        private static final byte ASCII = 1 << 2;
+        private static final byte HEADER_ONLY = 1 << 3;
+
+        private final int[] caseNumbers;
+        private final int[] plateNumbers;
+        private final int[] lineEnds;
+        private final byte[] flags;
+        private byte[] data = new byte[1 << 16];
+        private int dataLength;
+        private int size;
+
+        Chunk(int capacity, ValidatorService service) {
+            this.service = service;
+            caseNumbers = new int[capacity];
+            plateNumbers = new int[capacity];
+            lineEnds = new int[capacity];
+            flags = new byte[capacity];
+        }
+
+        void add(int caseNumber, int plateNumber, boolean lastInCase, PlateLineReader reader) {
+            int length = reader.lineEnd() - reader.lineStart();
+            if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+            }
+            System.arraycopy(reader.buffer(), reader.lineStart(), data, dataLength, length);
+            dataLength += length;
+
+            byte flag = reader.lineIsAscii() ? ASCII : 0;
+            if (lastInCase) flag |= LAST_IN_CASE;
+            append(caseNumber, plateNumber, flag);
+        }
+
+        /**
+         * The "Case N:" line, entered as soon as the count is read. A case
+         * with a negative count also ends here (header and blank line only).
+         */
+        void addCaseHeader(int caseNumber, boolean emptyCase) {
+            byte flag = (byte) (FIRST_IN_CASE | HEADER_ONLY);
+            if (emptyCase) flag |= LAST_IN_CASE;
+            append(caseNumber, 0, flag);
+        }
+
+        private void append(int caseNumber, int plateNumber, byte flag) {
+            caseNumbers[size] = caseNumber;
+            plateNumbers[size] = plateNumber;
+            lineEnds[size] = dataLength;
+            flags[size] = flag;
+            size++;
+        }
+
+        @Override
+        public byte[] call() throws IOException {
+            ByteArrayOutputStream report = new ByteArrayOutputStream(dataLength * 3 + 64);
+            PlateReportWriter writer = new PlateReportWriter(report, 1 << 14);
+            AsciiLineView view = new AsciiLineView(data);
+            int lineStart = 0;
+
+            for (int i = 0; i < size; i++) {
+                if ((flags[i] & FIRST_IN_CASE) != 0) {
+                    writer.caseHeader(caseNumbers[i]);
+                }
+                if ((flags[i] & HEADER_ONLY) == 0) {
+                    CharSequence line;
+                    if ((flags[i] & ASCII) != 0) {
+                        view.set(lineStart, lineEnds[i] - lineStart);
+                        line = view;
+                    } else {
+                        line = new String(data, lineStart, lineEnds[i] - lineStart, StandardCharsets.UTF_8);
+                    }
+                    writer.plate(plateNumbers[i], service.validateCode(line));
+                }
+                if ((flags[i] & LAST_IN_CASE) != 0) {
+                    writer.caseEnd();
+                }
+                lineStart = lineEnds[i];
+            }
+
+            writer.flush();
+            return report.toByteArray();
+        }
+    }
+}
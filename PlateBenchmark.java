@@ -0,0 +1,434 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Plate Validator Throughput Benchmark
+ *
+ * Generates a synthetic case-based input (same format as test_input.txt),
+ * checks that every mode produces the same bytes as the Scanner path, then
+ * reports throughput in plates/second.
+ *
+ * Usage: java PlateBenchmark [plates] [rounds]
+ */
+public class PlateBenchmark {
+    private static final int PLATES_PER_CASE = 1000;
+    private static final char[] LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final String[] SEPARATORS = {"-", "_", " ", ""};
+
+    public static void main(String[] args) throws Exception {
+        int plates = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        byte[] input = generateInput(plates, 42);
+        System.out.println("=== PLATE VALIDATOR THROUGHPUT ===");
+        System.out.println("Plates: " + plates + ", input size: " + input.length + " bytes\n");
+
+        byte[] expected = runScanner(input);
+        byte[] actual = runBatch(input);
+        System.out.println("Batch output identical to Scanner output: " + Arrays.equals(expected, actual));
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("Parallel output identical to Scanner output: "
+                + Arrays.equals(expected, runParallel(input, Math.max(2, cores))));
+        Path file = Files.createTempFile("plates", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, input);
+        System.out.println("Mapped output identical to Scanner output: "
+                + Arrays.equals(expected, runMapped(file, Math.max(2, cores), true)));
+
+        Path records = Files.createTempFile("plates", ".bin");
+        records.toFile().deleteOnExit();
+        runBinary(input, records);
+        System.out.println("Binary records render to the Scanner output: "
+                + Arrays.equals(expected, renderRecords(records)));
+        byte[] emptyCases = "-2\n1\nABC-123\n-1\n2\nxx\nAB-12-CD\n0\n".getBytes(StandardCharsets.US_ASCII);
+        runBinary(emptyCases, records);
+        System.out.println("Binary records with empty cases render to the Scanner output: "
+                + Arrays.equals(runScanner(emptyCases), renderRecords(records)));
+
+        // Count lines with whitespace Scanner accepts after the number
+        boolean edgeCasesMatch = true;
+        for (String countLine : new String[]{"1\f", "1\u000B", "1\t\f", "1 \u000B x"}) {
+            byte[] edgeInput = (countLine + "\nABC-123\n0\n").getBytes(StandardCharsets.US_ASCII);
+            byte[] edgeExpected = runScanner(edgeInput);
+            Path edgeFile = Files.createTempFile("plates", ".txt");
+            edgeFile.toFile().deleteOnExit();
+            Files.write(edgeFile, edgeInput);
+            edgeCasesMatch &= Arrays.equals(edgeExpected, runBatch(edgeInput))
+                    && Arrays.equals(edgeExpected, runParallel(edgeInput, 2))
+                    && Arrays.equals(edgeExpected, runMapped(edgeFile, 2, true));
+        }
+        System.out.println("\\f / VT after the case count, all modes identical to Scanner output: " + edgeCasesMatch);
+
+        // Input ending inside a case: every mode fails after the same partial report
+        boolean truncatedMatch = true;
+        for (String truncated : new String[]{"1\n", "2\nABC-123\n", "1\nABC-123\n2\n", "-1\n3\n"}) {
+            byte[] truncatedInput = truncated.getBytes(StandardCharsets.US_ASCII);
+            Path truncatedFile = Files.createTempFile("plates", ".txt");
+            truncatedFile.toFile().deleteOnExit();
+            Files.write(truncatedFile, truncatedInput);
+            byte[] truncatedExpected = outputBeforeFailure(out -> runScanner(truncatedInput, out));
+            truncatedMatch &= truncatedExpected != null
+                    && Arrays.equals(truncatedExpected, outputBeforeFailure(out ->
+                            LincensePlateValidator.runBatch(new ByteArrayInputStream(truncatedInput), out,
+                                    new ValidatorService())))
+                    && Arrays.equals(truncatedExpected, outputBeforeFailure(out ->
+                            new ParallelPlatePipeline(2).run(new ByteArrayInputStream(truncatedInput), out)))
+                    && Arrays.equals(truncatedExpected, outputBeforeFailure(out ->
+                            new MappedPlateValidator(2, true, new ValidatorService()).run(truncatedFile, out)));
+        }
+        System.out.println("Truncated input, all modes print the Scanner output before failing: " + truncatedMatch);
+
+        int mismatches = differentialCheck(200_000, 7);
+        System.out.println("PlateScanner vs regex validatePlate mismatches: " + mismatches);
+        System.out.println();
+
+        report("Scanner + System.out", plates, rounds, () -> runScanner(input));
+        report("Batch (--batch)", plates, rounds, () -> runBatch(input));
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            int t = threads;
+            report("Parallel (--threads=" + t + ")", plates, rounds, () -> runParallel(input, t));
+        }
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            int t = threads;
+            report("Mapped (--file --threads=" + t + ")", plates, rounds, () -> runMapped(file, t, true));
+            report("Mapped summary only (threads=" + t + ")", plates, rounds, () -> runMapped(file, t, false));
+        }
+        System.out.println();
+
+        String[] samples = samplePlates(plates, 42);
+        report("validatePlateWithRegex (core only)", plates, rounds, () -> validateAllWithRegex(samples));
+        report("PlateScanner.scan (core only)", plates, rounds, () -> scanAll(samples));
+        System.out.printf("PlateScanner.scan allocation: %.2f bytes/plate%n",
+                allocatedBytes(() -> scanAll(samples)) / (double) plates);
+        System.out.println();
+
+        // Metrics overhead: same plates through ValidatorService with and without PlateMetrics
+        ValidatorService plain = new ValidatorService();
+        ValidatorService instrumented = new ValidatorService(new PlateMetrics());
+        report("ValidatorService, no metrics", plates, rounds, () -> validateCodes(plain, samples));
+        report("ValidatorService + PlateMetrics", plates, rounds, () -> validateCodes(instrumented, samples));
+        report("Batch (--batch), no metrics", plates, rounds, () -> runBatch(input, plain));
+        report("Batch (--batch --metrics)", plates, rounds, () -> runBatch(input, instrumented));
+        System.out.printf("PlateMetrics allocation: %.2f bytes/plate%n",
+                allocatedBytes(() -> validateCodes(instrumented, samples)) / (double) plates);
+        System.out.println();
+
+        // Downstream cost: text report vs binary records for the same plates
+        Path report = Files.createTempFile("plates", ".report");
+        report.toFile().deleteOnExit();
+        Files.write(report, expected);
+        System.out.printf("Output size: text %,d bytes, binary %,d bytes (%.1fx smaller)%n",
+                Files.size(report), Files.size(records), Files.size(report) / (double) Files.size(records));
+        report("Write binary (--binary)", plates, rounds, () -> runBinary(input, records));
+        report("Parse text report", plates, rounds, () -> parseTextReport(report));
+        report("Read binary records", plates, rounds, () -> readRecords(records));
+    }
+
+    /**
+     * Draws count plates from a pool of distinct plates where the plate of rank
+     * r is picked with probability proportional to 1 / r^skew.
+     */
+    static String[] zipfianPlates(int count, int distinct, double skew, long seed) {
+        String[] pool = samplePlates(distinct, seed);
+        double[] cumulative = new double[distinct];
+        double total = 0;
+        for (int r = 0; r < distinct; r++) {
+            total += 1.0 / Math.pow(r + 1, skew);
+            cumulative[r] = total;
+        }
+        Random random = new Random(seed + 1);
+        String[] plates = new String[count];
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            // Fresh String per draw, like a line read from input (no cached hash)
+            plates[i] = new String(pool[rank < 0 ? -rank - 1 : rank].toCharArray());
+        }
+        return plates;
+    }
+
+    static Object validateCodes(ValidatorService service, String[] plates) {
+        int valid = 0;
+        for (String plate : plates) {
+            if (PlateScanner.isValid(service.validateCode(plate))) valid++;
+        }
+        return valid;
+    }
+
+    static String[] samplePlates(int count, long seed) {
+        Random random = new Random(seed);
+        String[] plates = new String[count];
+        for (int i = 0; i < count; i++) {
+            plates[i] = randomPlate(random);
+        }
+        return plates;
+    }
+
+    static Object validateAllWithRegex(String[] plates) {
+        int valid = 0;
+        for (String plate : plates) {
+            if (LincensePlateValidator.validatePlateWithRegex(plate).isValid) valid++;
+        }
+        return valid;
+    }
+
+    static Object scanAll(String[] plates) {
+        int valid = 0;
+        for (String plate : plates) {
+            if (PlateScanner.isValid(PlateScanner.scan(plate))) valid++;
+        }
+        return valid;
+    }
+
+    /**
+     * Compares PlateScanner against the regex implementation on random strings
+     * built from an alphabet full of edge cases (separators, lower case,
+     * non-ASCII letters, line terminators, punctuation).
+     */
+    static int differentialCheck(int samples, long seed) {
+        String alphabet = "ABCXYZabcxyz0123456789-_ \t.#\u00e9\u0131\u017f\u00df\u0085\u2028\n\r";
+        Random random = new Random(seed);
+        int mismatches = 0;
+        for (int i = 0; i < samples; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String plate = i % 2 == 0 ? sb.toString() : randomPlate(random);
+            ValidatorService.ValidationResult expected = LincensePlateValidator.validatePlateWithRegex(plate);
+            ValidatorService.ValidationResult actual = LincensePlateValidator.validatePlate(plate);
+            if (expected.isValid != actual.isValid
+                    || !expected.formatted.equals(actual.formatted)
+                    || !expected.violations.equals(actual.violations)) {
+                if (mismatches < 5) {
+                    System.out.println("  mismatch for \"" + plate + "\": " + expected.violations
+                            + " " + expected.formatted + " vs " + actual.violations + " " + actual.formatted);
+                }
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Bytes allocated by the current thread while running the task.
+     */
+    static long allocatedBytes(Task task) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        task.run(); // warm up
+        long before = threads.getCurrentThreadAllocatedBytes();
+        task.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Builds a deterministic input of the given size. Roughly half of the plates
+     * are valid, the rest exercise every violation.
+     */
+    static byte[] generateInput(int plates, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(plates * 12);
+        int remaining = plates;
+        while (remaining > 0) {
+            int n = Math.min(PLATES_PER_CASE, remaining);
+            sb.append(n).append('\n');
+            for (int i = 0; i < n; i++) {
+                sb.append(randomPlate(random)).append('\n');
+            }
+            remaining -= n;
+        }
+        sb.append("0\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String randomPlate(Random random) {
+        StringBuilder plate = new StringBuilder(12);
+        int kind = random.nextInt(10);
+        if (random.nextBoolean()) {
+            plate.append(LETTERS[random.nextInt(26)]).append(LETTERS[random.nextInt(26)]);
+            plate.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+        }
+        if (kind < 6) {
+            // Valid main part: 3 letters + 3 digits, optionally split
+            for (int i = 0; i < 3; i++) plate.append(LETTERS[random.nextInt(26)]);
+            if (random.nextBoolean()) plate.append(SEPARATORS[random.nextInt(3)]);
+            for (int i = 0; i < 3; i++) plate.append(DIGITS[random.nextInt(10)]);
+        } else if (kind == 6) {
+            // Wrong character count
+            for (int i = 0; i < 4; i++) plate.append(LETTERS[random.nextInt(26)]);
+            plate.append(DIGITS[random.nextInt(10)]);
+        } else if (kind == 7) {
+            // Invalid characters
+            plate.append("12.34.56");
+        } else if (kind == 8) {
+            // Insufficient digits
+            for (int i = 0; i < 5; i++) plate.append(LETTERS[random.nextInt(26)]);
+            plate.append(DIGITS[random.nextInt(10)]);
+        } else {
+            // Insufficient letters, lower case
+            plate.append((char) ('a' + random.nextInt(26)));
+            for (int i = 0; i < 5; i++) plate.append(DIGITS[random.nextInt(10)]);
+        }
+        return plate.toString();
+    }
+
+    static byte[] runScanner(byte[] input) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        runScanner(input, out);
+        return out.toByteArray();
+    }
+
+    static void runScanner(byte[] input, OutputStream out) throws Exception {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        try {
+            System.setIn(new ByteArrayInputStream(input));
+            System.setOut(new PrintStream(out, false));
+            LincensePlateValidator.main(new String[0]);
+        } finally {
+            System.out.flush();
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+    }
+
+    static byte[] runBatch(byte[] input) throws Exception {
+        return runBatch(input, new ValidatorService());
+    }
+
+    static byte[] runBatch(byte[] input, ValidatorService service) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        LincensePlateValidator.runBatch(new ByteArrayInputStream(input), out, service);
+        return out.toByteArray();
+    }
+
+    static Object runBinary(byte[] input, Path out) throws Exception {
+        LincensePlateValidator.runBinary(new ByteArrayInputStream(input), out, new ValidatorService());
+        return out;
+    }
+
+    /** Rebuilds the text report from binary records. */
+    static byte[] renderRecords(Path records) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PlateReportWriter writer = new PlateReportWriter(out);
+        try (PlateRecordReader reader = new PlateRecordReader(records)) {
+            int currentCase = 0;
+            while (reader.next()) {
+                if (reader.caseNumber() != currentCase) {
+                    if (currentCase != 0) {
+                        writer.caseEnd();
+                    }
+                    currentCase = reader.caseNumber();
+                    writer.caseHeader(currentCase);
+                }
+                if (!reader.isEmptyCase()) {
+                    writer.plate(reader.plateNumber(), reader.code());
+                }
+            }
+            if (currentCase != 0) {
+                writer.caseEnd();
+            }
+        }
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * What a downstream job does with the text report: recover case, plate
+     * number, validity and violation bitmask for every plate.
+     */
+    static Object parseTextReport(Path report) throws Exception {
+        long checksum = 0;
+        try (java.io.BufferedReader reader = Files.newBufferedReader(report, StandardCharsets.US_ASCII)) {
+            int caseNumber = 0;
+            int plateNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Case ")) {
+                    caseNumber = Integer.parseInt(line.substring(5, line.length() - 1));
+                } else if (line.startsWith("Plate ")) {
+                    int colon = line.indexOf(':');
+                    plateNumber = Integer.parseInt(line.substring(6, colon));
+                    if (!line.endsWith(": Invalid")) {
+                        checksum += caseNumber + plateNumber;
+                    }
+                } else if (line.startsWith("Reasons: ")) {
+                    int violations = 0;
+                    for (String reason : line.substring(9).split(", ")) {
+                        for (int i = 0; i < PlateScanner.VIOLATION_COUNT; i++) {
+                            if (reason.equals(PlateScanner.violationMessage(i))) {
+                                violations |= 1 << i;
+                            }
+                        }
+                    }
+                    checksum += caseNumber + plateNumber + violations;
+                }
+            }
+        }
+        return checksum;
+    }
+
+    static Object readRecords(Path records) throws Exception {
+        long checksum = 0;
+        try (PlateRecordReader reader = new PlateRecordReader(records)) {
+            while (reader.next()) {
+                checksum += reader.caseNumber() + reader.plateNumber() + reader.violations();
+            }
+        }
+        return checksum;
+    }
+
+    static byte[] runParallel(byte[] input, int threads) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        new ParallelPlatePipeline(threads).run(new ByteArrayInputStream(input), out);
+        return out.toByteArray();
+    }
+
+    static byte[] runMapped(Path file, int threads, boolean renderReport) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MappedPlateValidator(threads, renderReport, new ValidatorService()).run(file, out);
+        return out.toByteArray();
+    }
+
+    interface Task {
+        Object run() throws Exception;
+    }
+
+    interface Sink {
+        void run(OutputStream out) throws Exception;
+    }
+
+    /** What a run wrote before it failed, or null if it did not fail. */
+    static byte[] outputBeforeFailure(Sink sink) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            sink.run(out);
+            return null;
+        } catch (Exception e) {
+            return out.toByteArray();
+        }
+    }
+
+    static void report(String name, int plates, int rounds, Task task) throws Exception {
+        task.run(); // warm up
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double platesPerSecond = plates / (best / 1e9);
+        System.out.printf("%-36s %10.1f ms   %,14.0f plates/s%n", name, best / 1e6, platesPerSecond);
+    }
+}
@@ -0,0 +1,231 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Plate Line Reader
+ *
+ * Buffered byte reader for the case-based plate input format:
+ *
+ *   N
+ *   plate1
+ *   ...
+ *   plateN
+ *   0
+ *
+ * Reads the underlying stream in large blocks and splits lines itself, so no
+ * per-token regex work is done the way java.util.Scanner does it.
+ * Line endings "\n", "\r\n" and "\r" are all accepted, matching Scanner.nextLine().
+ */
+public class PlateLineReader {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+    private boolean pendingLineFeed;
+    private AsciiLineView lineView;
+
+    // Current line, set by advanceLine()
+    private int lineStart;
+    private int lineEnd;
+    private boolean lineAscii;
+
+    public PlateLineReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlateLineReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+        this.lineView = new AsciiLineView(buffer);
+    }
+
+    /**
+     * Reads the next integer token (skipping leading whitespace, including blank
+     * lines) and discards the rest of its line, like nextInt() + nextLine().
+     */
+    public int nextInt() throws IOException {
+        consumePendingLineFeed();
+        int b = read();
+        while (isWhitespace(b)) {
+            b = read();
+        }
+        if (b < 0) {
+            throw new NoSuchElementException();
+        }
+
+        boolean negative = false;
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            b = read();
+        }
+        if (b < '0' || b > '9') {
+            throw new InputMismatchException();
+        }
+
+        long value = 0;
+        while (b >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new InputMismatchException();
+            }
+            b = read();
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || (b >= 0 && !isWhitespace(b))) {
+            throw new InputMismatchException();
+        }
+
+        // Discard the remainder of the count line
+        while (b >= 0 && b != '\n' && b != '\r') {
+            b = read();
+        }
+        pendingLineFeed = b == '\r';
+        return (int) value;
+    }
+
+    // Delimiters around the count token: space, \t, \n, VT (0x0B), \f, \r
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+
+    /**
+     * Advances to the next line. Its bytes (without the terminator) are
+     * buffer()[lineStart(), lineEnd()) until the next read.
+     *
+     * @throws NoSuchElementException if the input is exhausted
+     */
+    public void advanceLine() throws IOException {
+        consumePendingLineFeed();
+        int start = position;
+        int highBits = 0;
+        while (true) {
+            for (int i = start; i < limit; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    setLine(position, i, highBits);
+                    position = i + 1;
+                    pendingLineFeed = b == '\r';
+                    return;
+                }
+                highBits |= b;
+            }
+            start = limit - position;
+            if (!fill()) {
+                if (position == limit) {
+                    throw new NoSuchElementException("No line found");
+                }
+                setLine(position, limit, highBits);
+                position = limit;
+                return;
+            }
+        }
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int lineStart() {
+        return lineStart;
+    }
+
+    public int lineEnd() {
+        return lineEnd;
+    }
+
+    /** True when the current line has no bytes >= 0x80. */
+    public boolean lineIsAscii() {
+        return lineAscii;
+    }
+
+    /**
+     * Reads the next line without its terminator.
+     *
+     * @throws NoSuchElementException if the input is exhausted
+     */
+    public String nextLine() throws IOException {
+        advanceLine();
+        return decode(lineStart, lineEnd);
+    }
+
+    /**
+     * Like nextLine(), but for pure-ASCII lines returns a reused view over the
+     * read buffer instead of a new String. The view is only valid until the
+     * next read; lines with non-ASCII bytes are decoded to a String as usual.
+     */
+    public CharSequence nextLineView() throws IOException {
+        advanceLine();
+        if (!lineAscii) {
+            return decode(lineStart, lineEnd);
+        }
+        if (lineView.buffer() != buffer) {
+            lineView = new AsciiLineView(buffer);
+        }
+        lineView.set(lineStart, lineEnd - lineStart);
+        return lineView;
+    }
+
+    private void setLine(int start, int end, int highBits) {
+        lineStart = start;
+        lineEnd = end;
+        lineAscii = highBits >= 0;
+    }
+
+    private String decode(int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The '\n' of a "\r\n" terminator is consumed lazily, at the start of the
+     * next read, so the current line's bytes are never moved by a refill.
+     */
+    private void consumePendingLineFeed() throws IOException {
+        if (pendingLineFeed) {
+            pendingLineFeed = false;
+            if ((position < limit || fill()) && buffer[position] == '\n') {
+                position++;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Compacts the unread bytes to the front of the buffer (growing it when a
+     * single line is longer than the buffer) and reads more input.
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, position, grown, 0, remaining);
+            buffer = grown;
+        } else if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,204 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Plate Load Client
+ *
+ * Load generator for PlateValidationServer. Opens several connections, and on
+ * each one repeatedly sends a batch of plates and reads one response line per
+ * plate. Reports throughput and the p50/p99/max latency of a batch round trip.
+ *
+ * A batch goes out in slices of at most SLICE_BYTES (whole lines), and each
+ * slice's responses are read before the next is written. The server answers
+ * after every read, so writing a large batch in one go would leave both sides
+ * blocked on full socket buffers.
+ *
+ * Usage: java PlateLoadClient [port] [connections] [batchSize] [seconds]
+ * With port 0 an in-process server is started on a free port first.
+ */
+public class PlateLoadClient {
+    static final int SLICE_BYTES = 1 << 13;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        PlateValidationServer server = null;
+        if (port == 0) {
+            server = new PlateValidationServer(0, new ValidatorService());
+            port = server.port();
+        }
+
+        System.out.println("=== PLATE SERVER LOAD TEST ===");
+        System.out.println("Target: 127.0.0.1:" + port + ", connections: " + connections
+                + ", batch: " + batchSize + " plates, duration: " + seconds + " s\n");
+
+        try {
+            // Short warm-up so the server's JIT has compiled the hot path
+            run(port, connections, batchSize, Math.min(2, seconds));
+            Result result = run(port, connections, batchSize, seconds);
+            result.print();
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    static Result run(int port, int connections, int batchSize, int seconds) throws Exception {
+        Worker[] workers = new Worker[connections];
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        for (int i = 0; i < connections; i++) {
+            workers[i] = new Worker(port, batchSize, deadline, i);
+            workers[i].start();
+        }
+
+        Result result = new Result();
+        result.elapsedNanos = seconds * 1_000_000_000L;
+        long[] all = new long[0];
+        for (Worker worker : workers) {
+            worker.join();
+            if (worker.failure != null) {
+                throw worker.failure;
+            }
+            result.plates += worker.plates;
+            result.elapsedNanos = Math.max(result.elapsedNanos, worker.elapsedNanos);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + worker.latencyCount);
+            System.arraycopy(worker.latencies, 0, all, offset, worker.latencyCount);
+        }
+        Arrays.sort(all);
+        result.latencies = all;
+        return result;
+    }
+
+    static final class Result {
+        long plates;
+        long elapsedNanos;
+        long[] latencies;
+
+        long percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+        }
+
+        void print() {
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("Batches: %,d   Plates: %,d%n", latencies.length, plates);
+            System.out.printf("Throughput: %,.0f plates/s%n", plates / seconds);
+            System.out.printf("Batch round trip: p50=%.1f us  p99=%.1f us  max=%.1f us%n",
+                    percentile(50) / 1e3, percentile(99) / 1e3, percentile(100) / 1e3);
+        }
+    }
+
+    private static final class Worker extends Thread {
+        private final int port;
+        private final int batchSize;
+        private final long deadline;
+        private final byte[] request;
+        private final int[] sliceEnds;   // end offset in request of each slice
+        private final int[] sliceLines;  // plates in each slice
+        private long[] latencies = new long[1 << 16];
+        private int latencyCount;
+        private long plates;
+        private long elapsedNanos;
+        private Exception failure;
+
+        Worker(int port, int batchSize, long deadline, int seed) {
+            super("plate-load-" + seed);
+            this.port = port;
+            this.batchSize = batchSize;
+            this.deadline = deadline;
+
+            Random random = new Random(seed);
+            StringBuilder sb = new StringBuilder(batchSize * 12);
+            for (int i = 0; i < batchSize; i++) {
+                sb.append(PlateBenchmark.randomPlate(random)).append('\n');
+            }
+            this.request = sb.toString().getBytes(StandardCharsets.US_ASCII);
+
+            int[] ends = new int[16];
+            int[] lines = new int[16];
+            int slices = 0;
+            int sliceStart = 0;
+            int lineCount = 0;
+            for (int i = 0; i < request.length; i++) {
+                if (request[i] != '\n') {
+                    continue;
+                }
+                lineCount++;
+                boolean last = i == request.length - 1;
+                if (last || i + 1 - sliceStart >= SLICE_BYTES) {
+                    if (slices == ends.length) {
+                        ends = Arrays.copyOf(ends, slices * 2);
+                        lines = Arrays.copyOf(lines, slices * 2);
+                    }
+                    ends[slices] = i + 1;
+                    lines[slices++] = lineCount;
+                    sliceStart = i + 1;
+                    lineCount = 0;
+                }
+            }
+            this.sliceEnds = Arrays.copyOf(ends, slices);
+            this.sliceLines = Arrays.copyOf(lines, slices);
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                socket.setTcpNoDelay(true);
+                OutputStream out = socket.getOutputStream();
+                InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+                long begin = System.nanoTime();
+
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int from = 0;
+                    for (int slice = 0; slice < sliceEnds.length; slice++) {
+                        out.write(request, from, sliceEnds[slice] - from);
+                        out.flush();
+                        readLines(in, sliceLines[slice]);
+                        from = sliceEnds[slice];
+                    }
+                    record(System.nanoTime() - start);
+                    plates += batchSize;
+                }
+                elapsedNanos = System.nanoTime() - begin;
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+
+        private void record(long nanos) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[latencyCount++] = nanos;
+        }
+
+        private static void readLines(InputStream in, int lines) throws IOException {
+            int remaining = lines;
+            while (remaining > 0) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException("Server closed the connection");
+                }
+                if (b == '\n') {
+                    remaining--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Plate Metrics - validation counters and latency histogram
+ *
+ * Recorded by ValidatorService for every plate it validates:
+ * - outcome counts per violation bitmask (16 combinations), from which plates,
+ *   valid, invalid and per-violation totals are derived
+ * - per-region counts (26 x 26 region codes, plus plates without a region)
+ * - validation latency for a random ~1-in-sampleRate subset of calls, in a
+ *   log-linear histogram (HdrHistogram-style: power-of-two buckets, each split
+ *   into 32 linear sub-buckets, so every recorded value is within ~3%)
+ *
+ * Recording never locks or CASes on the per-plate path: each thread counts
+ * into its own Recorder with plain increments published by opaque writes, and
+ * snapshots sum the recorders. Recorders of terminated threads are folded into
+ * a retired total, so short-lived threads (one virtual thread per server
+ * connection) do not accumulate. Sampled latencies go to a shared
+ * AtomicLongArray. Timing every plate would cost two System.nanoTime() calls,
+ * comparable to the validation itself, hence sampling.
+ *
+ * Snapshots do not stop recorders, so one taken mid-run is consistent only to
+ * within the plates in flight.
+ */
+public final class PlateMetrics {
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (65 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int OUTCOMES = 1 << PlateScanner.VIOLATION_COUNT;
+    private static final int REGION_SLOTS = 26 * 26;
+    private static final int NO_REGION = REGION_SLOTS;
+    // Counter layout: outcomes by violation mask, then region slots, then NO_REGION
+    private static final int COUNTERS = OUTCOMES + REGION_SLOTS + 1;
+    private static final int SWEEP_INTERVAL = 64;
+
+    private final int sampleRate;
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final ThreadLocal<Recorder> recorder = ThreadLocal.withInitial(this::register);
+    private final List<Recorder> recorders = new ArrayList<>();  // guarded by this
+    private final long[] retired = new long[COUNTERS];           // guarded by this
+    private int registrations;                                    // guarded by this
+
+    public PlateMetrics() {
+        this(DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param sampleRate time on average one in sampleRate validations
+     */
+    public PlateMetrics(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /** The calling thread's recorder. */
+    Recorder recorder() {
+        return recorder.get();
+    }
+
+    private synchronized Recorder register() {
+        if (++registrations % SWEEP_INTERVAL == 0) {
+            retireTerminated();
+        }
+        Recorder r = new Recorder(Thread.currentThread());
+        recorders.add(r);
+        return r;
+    }
+
+    /* A terminated owner will not write again, and isAlive() == false makes its writes visible. */
+    private void retireTerminated() {
+        for (Iterator<Recorder> it = recorders.iterator(); it.hasNext(); ) {
+            Recorder r = it.next();
+            if (!r.owner.isAlive()) {
+                for (int i = 0; i < COUNTERS; i++) {
+                    retired[i] += r.counts.getPlain(i);
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized long[] sumCounters() {
+        retireTerminated();
+        long[] sums = retired.clone();
+        for (Recorder r : recorders) {
+            for (int i = 0; i < COUNTERS; i++) {
+                sums[i] += r.counts.getOpaque(i);
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Per-thread counters. Only the owner thread writes, so an increment is a
+     * plain read plus an opaque write: no lost updates, and snapshot readers
+     * never see a torn value.
+     */
+    final class Recorder {
+        private final Thread owner;
+        private final AtomicLongArray counts = new AtomicLongArray(COUNTERS);
+        private int countdown;
+
+        Recorder(Thread owner) {
+            this.owner = owner;
+            this.countdown = nextSampleInterval();
+        }
+
+        /** True if the caller should time the next validation. */
+        boolean sampleNext() {
+            if (--countdown > 0) {
+                return false;
+            }
+            countdown = nextSampleInterval();
+            return true;
+        }
+
+        /** Records the outcome of one validation. */
+        void record(long code) {
+            increment(PlateScanner.violations(code));
+            increment(OUTCOMES + regionSlot(code));
+        }
+
+        /** Records the outcome and the latency of one sampled validation. */
+        void record(long code, long nanos) {
+            record(code);
+            latencyBuckets.incrementAndGet(bucketIndex(Math.max(0, nanos)));
+        }
+
+        private void increment(int counter) {
+            counts.setOpaque(counter, counts.getPlain(counter) + 1);
+        }
+    }
+
+    /* Uniform in [1, 2 * sampleRate - 1], so the mean interval is sampleRate. */
+    private int nextSampleInterval() {
+        return sampleRate == 1 ? 1 : 1 + ThreadLocalRandom.current().nextInt(2 * sampleRate - 1);
+    }
+
+    private static int regionSlot(long code) {
+        if (!PlateScanner.hasRegion(code)) {
+            return NO_REGION;
+        }
+        return (PlateScanner.regionChar(code, 0) - 'A') * 26 + PlateScanner.regionChar(code, 1) - 'A';
+    }
+
+    /*
+     * Values below 2 * SUB_BUCKETS get one bucket each. Above that, a value
+     * with its highest bit at position SUB_BUCKET_BITS + shift lands in bucket
+     * shift * SUB_BUCKETS + (value >>> shift), keeping SUB_BUCKET_BITS bits of
+     * precision below the leading one.
+     */
+    static int bucketIndex(long value) {
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift <= 0) {
+            return (int) value;
+        }
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /** Smallest value that maps to the bucket. */
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        return (long) (index - shift * SUB_BUCKETS) << shift;
+    }
+
+    public long plates() {
+        return plates(sumCounters());
+    }
+
+    public long valid() {
+        return sumCounters()[0];
+    }
+
+    /**
+     * Plates that broke the rule at the given violation index
+     * (see PlateScanner.violationMessage).
+     */
+    public long violations(int index) {
+        return violations(sumCounters(), index);
+    }
+
+    /**
+     * Plates validated with the given two-letter region, or without a region
+     * when region is null or empty.
+     */
+    public long regionCount(String region) {
+        if (region == null || region.isEmpty()) {
+            return sumCounters()[OUTCOMES + NO_REGION];
+        }
+        return sumCounters()[OUTCOMES + (region.charAt(0) - 'A') * 26 + region.charAt(1) - 'A'];
+    }
+
+    private static long plates(long[] counters) {
+        long plates = 0;
+        for (int mask = 0; mask < OUTCOMES; mask++) {
+            plates += counters[mask];
+        }
+        return plates;
+    }
+
+    private static long violations(long[] counters, int index) {
+        long count = 0;
+        for (int mask = 0; mask < OUTCOMES; mask++) {
+            if ((mask & (1 << index)) != 0) {
+                count += counters[mask];
+            }
+        }
+        return count;
+    }
+
+    public long sampledLatencies() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += latencyBuckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) of the sampled validations, in
+     * nanoseconds, or 0 if nothing has been sampled.
+     */
+    public long latencyPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = latencyBuckets.get(i);
+            total += counts[i];
+        }
+        return percentile(counts, total, percentile);
+    }
+
+    private static long percentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketLowerBound(i);
+            }
+        }
+        return bucketLowerBound(counts.length - 1);
+    }
+
+    /**
+     * Prints a snapshot: totals, violation breakdown, the ten most frequent
+     * regions and latency percentiles.
+     */
+    public void printSnapshot(PrintStream out) {
+        long[] counters = sumCounters();
+        long plates = plates(counters);
+        long valid = counters[0];
+        out.println("=== VALIDATION METRICS ===");
+        out.printf("Plates: %d  Valid: %d  Invalid: %d%n", plates, valid, plates - valid);
+        for (int i = 0; i < PlateScanner.VIOLATION_COUNT; i++) {
+            long count = violations(counters, i);
+            out.printf("  %-22s %12d  (%5.1f%%)%n", PlateScanner.violationMessage(i) + ":", count,
+                    plates == 0 ? 0.0 : 100.0 * count / plates);
+        }
+
+        long[] regionCounts = Arrays.copyOfRange(counters, OUTCOMES, COUNTERS);
+        out.printf("Without region: %d%n", regionCounts[NO_REGION]);
+        out.print("Top regions:");
+        boolean any = false;
+        for (int rank = 0; rank < 10; rank++) {
+            int best = -1;
+            for (int i = 0; i < REGION_SLOTS; i++) {
+                if (regionCounts[i] > 0 && (best < 0 || regionCounts[i] > regionCounts[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            out.printf(" %c%c=%d", (char) ('A' + best / 26), (char) ('A' + best % 26), regionCounts[best]);
+            regionCounts[best] = 0;
+            any = true;
+        }
+        out.println(any ? "" : " none");
+
+        long[] counts = new long[BUCKET_COUNT];
+        long sampled = 0;
+        long max = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = latencyBuckets.get(i);
+            sampled += counts[i];
+            if (counts[i] > 0) {
+                max = bucketLowerBound(i);
+            }
+        }
+        out.printf("Latency (ns, %d sampled, 1 in %d): p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                sampled, sampleRate, percentile(counts, sampled, 50), percentile(counts, sampled, 90),
+                percentile(counts, sampled, 99), percentile(counts, sampled, 99.9), max);
+    }
+}
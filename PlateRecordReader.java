@@ -0,0 +1,126 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plate Record Reader
+ *
+ * Reads the binary files written by PlateRecordWriter:
+ *
+ *   try (PlateRecordReader reader = new PlateRecordReader(path)) {
+ *       while (reader.next()) {
+ *           reader.caseNumber(); reader.plateNumber(); reader.isValid(); ...
+ *       }
+ *   }
+ *
+ * Records are fixed-width, so reading one is three buffer loads; nothing is
+ * parsed and nothing is allocated per record.
+ */
+public class PlateRecordReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private int caseNumber;
+    private int plateNumber;
+    private long code;
+
+    public PlateRecordReader(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlateRecordReader(Path path, int bufferSize) throws IOException {
+        int size = Math.max(bufferSize, PlateRecordWriter.HEADER_SIZE) / PlateRecordWriter.RECORD_SIZE
+                * PlateRecordWriter.RECORD_SIZE;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(size, PlateRecordWriter.RECORD_SIZE))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.limit(0);
+        try {
+            if (!fill(PlateRecordWriter.HEADER_SIZE)) {
+                throw new IOException("Not a plate record file: missing header");
+            }
+            int magic = buffer.getInt();
+            int recordSize = buffer.getInt();
+            if (magic != PlateRecordWriter.MAGIC || recordSize != PlateRecordWriter.RECORD_SIZE) {
+                throw new IOException("Not a plate record file: bad header");
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return false at end of file
+     * @throws IOException if the file ends inside a record
+     */
+    public boolean next() throws IOException {
+        if (!fill(PlateRecordWriter.RECORD_SIZE)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("Truncated plate record file");
+            }
+            return false;
+        }
+        caseNumber = buffer.getInt();
+        plateNumber = buffer.getInt();
+        code = buffer.getLong();
+        return true;
+    }
+
+    public int caseNumber() {
+        return caseNumber;
+    }
+
+    public int plateNumber() {
+        return plateNumber;
+    }
+
+    /** True if the current record marks a case without plates; it carries no code. */
+    public boolean isEmptyCase() {
+        return plateNumber == 0;
+    }
+
+    /** The PlateScanner plate code of the current record. */
+    public long code() {
+        return code;
+    }
+
+    public boolean isValid() {
+        return PlateScanner.isValid(code);
+    }
+
+    public int violations() {
+        return PlateScanner.violations(code);
+    }
+
+    public ValidatorService.ValidationResult result() {
+        return ValidatorService.ValidationResult.fromCode(code);
+    }
+
+    /** Ensures at least needed bytes are buffered; false if the file ends first. */
+    private boolean fill(int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,77 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plate Record Writer
+ *
+ * Binary alternative to PlateReportWriter for downstream jobs. The file is an
+ * 8-byte header followed by one fixed-width 16-byte record per plate, all
+ * little-endian:
+ *
+ *   header:  int MAGIC ("PLT1"), int RECORD_SIZE
+ *   record:  int caseNumber, int plateNumber, long code
+ *
+ * code is the PlateScanner plate code: bits 0-3 violation bitmask (0 = valid),
+ * bit 4 has-region, bits 5-14 region letters, bits 15-50 the six characters.
+ * Plate numbers start at 1; a case with a negative count (header and blank
+ * line only in the text report) is a single record with plateNumber 0 and
+ * code 0, so the text report can be rebuilt from the records.
+ * PlateRecordReader reads the file back.
+ *
+ * Records are staged in a direct ByteBuffer and written to the FileChannel
+ * without an intermediate heap copy.
+ */
+public class PlateRecordWriter implements Closeable {
+    static final int MAGIC = 0x31544C50; // "PLT1" in little-endian byte order
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 16;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    public PlateRecordWriter(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlateRecordWriter(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, RECORD_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(RECORD_SIZE);
+    }
+
+    public void plate(int caseNumber, int plateNumber, long code) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        buffer.putInt(caseNumber).putInt(plateNumber).putLong(code);
+    }
+
+    /** Marks a case that has no plates (negative count). */
+    public void emptyCase(int caseNumber) throws IOException {
+        plate(caseNumber, 0, 0);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
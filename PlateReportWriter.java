@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plate Report Writer
+ *
+ * Buffered writer for the text report printed by LincensePlateValidator:
+ *
+ *   Case N:
+ *   Plate i: XX-XXX-XXX
+ *   Plate j: Invalid
+ *   Reasons: reason1, reason2
+ *   (blank line)
+ *
+ * Output is byte-identical to the System.out.println path, but everything is
+ * encoded into one byte buffer and handed to the stream in large writes.
+ */
+public class PlateReportWriter {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+    private static final byte[][] VIOLATION_MESSAGES = new byte[PlateScanner.VIOLATION_COUNT][];
+
+    static {
+        for (int i = 0; i < VIOLATION_MESSAGES.length; i++) {
+            VIOLATION_MESSAGES[i] = PlateScanner.violationMessage(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int count;
+
+    public PlateReportWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlateReportWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public void caseHeader(int caseNumber) throws IOException {
+        writeAscii("Case ");
+        writeInt(caseNumber);
+        writeAscii(":");
+        newLine();
+    }
+
+    public void caseEnd() throws IOException {
+        newLine();
+    }
+
+    public void plate(int plateNumber, ValidatorService.ValidationResult result) throws IOException {
+        writeAscii("Plate ");
+        writeInt(plateNumber);
+        writeAscii(": ");
+        if (result.isValid) {
+            writeAscii(result.formatted);
+            newLine();
+        } else {
+            writeAscii("Invalid");
+            newLine();
+            writeAscii("Reasons: ");
+            for (int i = 0; i < result.violations.size(); i++) {
+                if (i > 0) {
+                    writeAscii(", ");
+                }
+                writeAscii(result.violations.get(i));
+            }
+            newLine();
+        }
+    }
+
+    /**
+     * Writes a PlateScanner plate code without building any strings.
+     */
+    public void plate(int plateNumber, long code) throws IOException {
+        writeAscii("Plate ");
+        writeInt(plateNumber);
+        writeAscii(": ");
+        if (PlateScanner.isValid(code)) {
+            ensureCapacity(10);
+            count = PlateScanner.formatTo(code, buffer, count);
+            newLine();
+        } else {
+            writeAscii("Invalid");
+            newLine();
+            writeAscii("Reasons: ");
+            int violations = PlateScanner.violations(code);
+            boolean first = true;
+            for (int i = 0; i < VIOLATION_MESSAGES.length; i++) {
+                if ((violations & (1 << i)) != 0) {
+                    if (!first) {
+                        writeAscii(", ");
+                    }
+                    write(VIOLATION_MESSAGES[i]);
+                    first = false;
+                }
+            }
+            newLine();
+        }
+    }
+
+    public void flush() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+        out.flush();
+    }
+
+    private void newLine() throws IOException {
+        write(LINE_SEPARATOR);
+    }
+
+    private void writeInt(int value) throws IOException {
+        if (value < 0) {
+            writeAscii(Integer.toString(value));
+            return;
+        }
+        ensureCapacity(10);
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = count + digits;
+        for (int i = end - 1; i >= count; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count = end;
+    }
+
+    private void writeAscii(String s) throws IOException {
+        int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                // Not expected in reports, but keep println's encoding if it happens
+                write(s.getBytes(Charset.defaultCharset()));
+                return;
+            }
+            buffer[count + i] = (byte) c;
+        }
+        count += length;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (count + needed <= buffer.length) {
+            return;
+        }
+        out.write(buffer, 0, count);
+        count = 0;
+        if (needed > buffer.length) {
+            buffer = new byte[needed];
+        }
+    }
+}
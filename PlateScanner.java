@@ -0,0 +1,258 @@
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plate Scanner - Single-Pass Validation Core
+ *
+ * Regex-free, allocation-free version of LincensePlateValidator.validatePlate.
+ * The input is scanned once, every character is classified with a lookup table,
+ * and the whole result is packed into one long "plate code":
+ *
+ *   bits  0-3   violation bitmask (WRONG_CHARACTER_COUNT ... INSUFFICIENT_DIGITS)
+ *   bit   4     region code present
+ *   bits  5-14  region code, 2 letters x 5 bits (0 = 'A')
+ *   bits 15-50  main part, 6 chars x 6 bits (0-9 = digits, 10-35 = 'A'-'Z')
+ *
+ * A plate is valid when the violation bits are all 0. Callers who want strings
+ * can rebuild a ValidationResult from the code with ValidationResult.fromCode.
+ *
+ * Region letters are upper-cased with Character.toUpperCase, which agrees with
+ * String.toUpperCase() for every locale except the Turkic/Lithuanian special cases.
+ */
+public final class PlateScanner {
+    // Violations, in the order they are reported
+    public static final int WRONG_CHARACTER_COUNT = 1;
+    public static final int INVALID_CHARACTERS = 1 << 1;
+    public static final int INSUFFICIENT_LETTERS = 1 << 2;
+    public static final int INSUFFICIENT_DIGITS = 1 << 3;
+    public static final int VIOLATION_COUNT = 4;
+
+    private static final String[] VIOLATION_MESSAGES = {
+        "Wrong character count",
+        "Invalid characters",
+        "Insufficient letters",
+        "Insufficient digits"
+    };
+
+    private static final long VIOLATION_MASK = (1L << VIOLATION_COUNT) - 1;
+    private static final long HAS_REGION = 1L << 4;
+    private static final int REGION_SHIFT = 5;
+    private static final int CHARS_SHIFT = 15;
+    private static final int MAIN_LENGTH = 6;
+
+    // Character classes
+    private static final byte INVALID = 0;
+    private static final byte UPPER = 1;
+    private static final byte LOWER = 2;
+    private static final byte DIGIT = 3;
+    private static final byte SEPARATOR = 4;          // '-', '_', ' ' (also separate a region)
+    private static final byte WHITESPACE = 5;         // tab, vertical tab, form feed
+    private static final byte LINE_BREAK = 6;         // \n \r
+    private static final byte UNICODE_LINE_BREAK = 7; // NEL, LINE/PARAGRAPH SEPARATOR
+
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) CLASSES[c] = UPPER;
+        for (char c = 'a'; c <= 'z'; c++) CLASSES[c] = LOWER;
+        for (char c = '0'; c <= '9'; c++) CLASSES[c] = DIGIT;
+        CLASSES['-'] = SEPARATOR;
+        CLASSES['_'] = SEPARATOR;
+        CLASSES[' '] = SEPARATOR;
+        CLASSES['\t'] = WHITESPACE;
+        CLASSES[0x0B] = WHITESPACE;
+        CLASSES['\f'] = WHITESPACE;
+        CLASSES['\n'] = LINE_BREAK;
+        CLASSES['\r'] = LINE_BREAK;
+    }
+
+    private PlateScanner() {
+    }
+
+    /**
+     * Validates a plate and returns its packed plate code.
+     * Same rules and violation order as the regex implementation.
+     */
+    public static long scan(CharSequence input) {
+        int length = input.length();
+
+        // Step 1: Detect region code from the first three characters
+        int mainStart = 0;
+        long region = 0;
+        boolean regionByLength = false;
+
+        if (length >= 3) {
+            char first = input.charAt(0);
+            char second = input.charAt(1);
+            char third = input.charAt(2);
+            if (third == '-' || third == '_' || third == ' ') {
+                char r0 = Character.toUpperCase(first);
+                char r1 = Character.toUpperCase(second);
+                if (r0 >= 'A' && r0 <= 'Z' && r1 >= 'A' && r1 <= 'Z') {
+                    region = regionBits(r0, r1);
+                    mainStart = 3;
+                }
+            } else if (Character.isLetter(first) && Character.isLetter(second)) {
+                // Region only if the whole plate has 8 alphanumerics; decided after the scan
+                regionByLength = true;
+                mainStart = 2;
+            }
+        }
+
+        // Step 2: Single pass over the main part
+        int alphanumeric = 0;
+        int letters = 0;
+        int digits = 0;
+        int lineBreaks = 0;
+        boolean invalidChar = false;
+        boolean invalidLineBreak = false;
+        long chars = 0;
+
+        for (int i = mainStart; i < length; i++) {
+            char c = input.charAt(i);
+            int code;
+            switch (classify(c)) {
+                case UPPER:
+                    code = c - 'A' + 10;
+                    letters++;
+                    break;
+                case LOWER:
+                    code = c - 'a' + 10;
+                    letters++;
+                    break;
+                case DIGIT:
+                    code = c - '0';
+                    digits++;
+                    break;
+                case INVALID:
+                    invalidChar = true;
+                    continue;
+                case LINE_BREAK:
+                    lineBreaks++;
+                    continue;
+                case UNICODE_LINE_BREAK:
+                    lineBreaks++;
+                    invalidLineBreak = true;
+                    continue;
+                default:
+                    continue;
+            }
+            if (alphanumeric < MAIN_LENGTH) {
+                chars |= (long) code << (6 * alphanumeric);
+            }
+            alphanumeric++;
+        }
+
+        if (regionByLength) {
+            char first = input.charAt(0);
+            char second = input.charAt(1);
+            int prefixAlphanumeric = (isAsciiLetter(first) ? 1 : 0) + (isAsciiLetter(second) ? 1 : 0);
+
+            if (alphanumeric + prefixAlphanumeric == 8) {
+                if (prefixAlphanumeric == 2) {
+                    region = regionBits(Character.toUpperCase(first), Character.toUpperCase(second));
+                }
+            } else {
+                // No region: the two leading letters belong to the main part
+                long prefixChars = 0;
+                int prefixCount = 0;
+                if (isAsciiLetter(first)) {
+                    prefixChars |= (long) (Character.toUpperCase(first) - 'A' + 10) << (6 * prefixCount++);
+                } else {
+                    invalidChar = true;
+                }
+                if (isAsciiLetter(second)) {
+                    prefixChars |= (long) (Character.toUpperCase(second) - 'A' + 10) << (6 * prefixCount++);
+                } else {
+                    invalidChar = true;
+                }
+                chars = (prefixChars | chars << (6 * prefixCount)) & ((1L << (6 * MAIN_LENGTH)) - 1);
+                alphanumeric += prefixCount;
+                letters += prefixCount;
+            }
+        }
+
+        // Step 3: Violations, in reporting order.
+        // Mirrors ".*[^a-zA-Z0-9\\s\\-_].*": '.' does not cross line terminators.
+        boolean invalid = lineBreaks == 0 ? invalidChar : lineBreaks == 1 && invalidLineBreak;
+
+        long result = region | chars << CHARS_SHIFT;
+        if (alphanumeric != MAIN_LENGTH) result |= WRONG_CHARACTER_COUNT;
+        if (invalid) result |= INVALID_CHARACTERS;
+        if (letters < 2) result |= INSUFFICIENT_LETTERS;
+        if (digits < 2) result |= INSUFFICIENT_DIGITS;
+        return result;
+    }
+
+    private static byte classify(char c) {
+        if (c < 128) {
+            return CLASSES[c];
+        }
+        return c == '\u0085' || c == '\u2028' || c == '\u2029' ? UNICODE_LINE_BREAK : INVALID;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c < 128 && (CLASSES[c] == UPPER || CLASSES[c] == LOWER);
+    }
+
+    private static long regionBits(char r0, char r1) {
+        return HAS_REGION | (long) (r0 - 'A') << REGION_SHIFT | (long) (r1 - 'A') << (REGION_SHIFT + 5);
+    }
+
+    // ------------------------------------------------------------------
+    // Decoding helpers
+    // ------------------------------------------------------------------
+
+    public static int violations(long code) {
+        return (int) (code & VIOLATION_MASK);
+    }
+
+    public static boolean isValid(long code) {
+        return (code & VIOLATION_MASK) == 0;
+    }
+
+    public static boolean hasRegion(long code) {
+        return (code & HAS_REGION) != 0;
+    }
+
+    /** Region letter 0 or 1, only meaningful when hasRegion(code). */
+    public static char regionChar(long code, int index) {
+        return (char) ('A' + ((code >>> (REGION_SHIFT + 5 * index)) & 0x1F));
+    }
+
+    /** Main-part character 0..5, only meaningful when isValid(code). */
+    public static char plateChar(long code, int index) {
+        int value = (int) ((code >>> (CHARS_SHIFT + 6 * index)) & 0x3F);
+        return (char) (value < 10 ? '0' + value : 'A' + value - 10);
+    }
+
+    /**
+     * Writes the formatted plate [REGION-]XXX-XXX as ASCII bytes.
+     *
+     * @return offset just past the last byte written (at most off + 10)
+     */
+    public static int formatTo(long code, byte[] dst, int off) {
+        if (hasRegion(code)) {
+            dst[off++] = (byte) regionChar(code, 0);
+            dst[off++] = (byte) regionChar(code, 1);
+            dst[off++] = '-';
+        }
+        for (int i = 0; i < MAIN_LENGTH; i++) {
+            if (i == 3) {
+                dst[off++] = '-';
+            }
+            dst[off++] = (byte) plateChar(code, i);
+        }
+        return off;
+    }
+
+    public static String format(long code) {
+        byte[] bytes = new byte[10];
+        int end = formatTo(code, bytes, 0);
+        return new String(bytes, 0, end, StandardCharsets.US_ASCII);
+    }
+
+    /** Message for violation number 0..VIOLATION_COUNT-1 (bit 1 << index). */
+    public static String violationMessage(int index) {
+        return VIOLATION_MESSAGES[index];
+    }
+}
@@ -0,0 +1,243 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plate Validation Server
+ *
+ * Keeps a JVM with a warm ValidatorService running so other processes can
+ * validate plates without paying JVM startup per call.
+ *
+ * Protocol (newline-delimited, over a local TCP socket):
+ * - Request:  one plate per line
+ * - Response: one line per plate, in request order
+ *     valid plate   -> formatted plate, e.g. "CA-ABC-123"
+ *     invalid plate -> "Invalid: reason1, reason2"
+ *
+ * Requests may be pipelined: a client can send any number of plates before
+ * reading. Each connection is served by its own virtual thread, which answers
+ * every complete line it has received and flushes once per socket read, so a
+ * batch of plates arriving together is answered in one write.
+ *
+ * A line longer than MAX_LINE_BYTES is answered with "Invalid: line too long"
+ * and the connection is closed, so a client that never sends a newline cannot
+ * grow the server's buffers.
+ */
+public class PlateValidationServer implements Closeable {
+    private static final byte[] INVALID_PREFIX = "Invalid: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REASON_SEPARATOR = ", ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_TOO_LONG = "Invalid: line too long\n".getBytes(StandardCharsets.US_ASCII);
+    static final int MAX_LINE_BYTES = 1 << 16;
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+    private static final byte[][] VIOLATION_MESSAGES = new byte[PlateScanner.VIOLATION_COUNT][];
+
+    static {
+        for (int i = 0; i < VIOLATION_MESSAGES.length; i++) {
+            VIOLATION_MESSAGES[i] = PlateScanner.violationMessage(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final ValidatorService service;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread acceptor;
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param port port to bind, or 0 for any free port (see port())
+     */
+    public PlateValidationServer(int port, ValidatorService service) throws IOException {
+        this.service = service;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, "plate-server-acceptor");
+        acceptor.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    /** Blocks until the server is closed. */
+    public void awaitTermination() throws InterruptedException {
+        acceptor.join();
+    }
+
+    // A failing accept (e.g. out of file descriptors) is retried with exponential backoff, not in a tight loop
+    private void acceptLoop() {
+        long backoffMillis = 0;
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> serve(socket));
+                backoffMillis = 0;
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                backoffMillis = Math.min(MAX_ACCEPT_BACKOFF_MILLIS, Math.max(10, backoffMillis * 2));
+                System.err.println("Accept failed: " + e.getMessage() + "; retrying in " + backoffMillis + " ms");
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = socket.getInputStream();
+            Connection connection = new Connection(socket.getOutputStream());
+
+            while (true) {
+                if (connection.lineTooLong()) {
+                    connection.rejectLine();
+                    return;
+                }
+                int read = connection.readFrom(in);
+                if (read < 0) {
+                    break;
+                }
+                connection.answerCompleteLines();
+                connection.flush();
+            }
+            // A final plate without a trailing newline is still answered
+            connection.answerRemainder();
+            connection.flush();
+        } catch (IOException e) {
+            // Client went away; nothing to answer
+        }
+    }
+
+    /**
+     * Per-connection buffers: received bytes not yet answered, and the
+     * responses waiting to be flushed.
+     */
+    private final class Connection {
+        private final OutputStream out;
+        private final byte[] input = new byte[MAX_LINE_BYTES];
+        private final AsciiLineView view = new AsciiLineView(input);
+        private int start;      // first unanswered byte
+        private int scanned;    // bytes already searched for a line break
+        private int limit;
+        private int highBits;
+        private byte[] output = new byte[1 << 16];
+        private int outputCount;
+
+        Connection(OutputStream out) {
+            this.out = out;
+        }
+
+        // The buffer is full and holds a single unfinished line
+        boolean lineTooLong() {
+            return start == 0 && limit == input.length;
+        }
+
+        void rejectLine() throws IOException {
+            flush();
+            out.write(LINE_TOO_LONG);
+            out.flush();
+        }
+
+        int readFrom(InputStream in) throws IOException {
+            if (limit == input.length) {
+                System.arraycopy(input, start, input, 0, limit - start);
+                limit -= start;
+                scanned -= start;
+                start = 0;
+            }
+            int read = in.read(input, limit, input.length - limit);
+            if (read > 0) {
+                limit += read;
+            }
+            return read;
+        }
+
+        void answerCompleteLines() throws IOException {
+            for (int i = scanned; i < limit; i++) {
+                byte b = input[i];
+                if (b == '\n') {
+                    int end = i > start && input[i - 1] == '\r' ? i - 1 : i;
+                    answer(start, end);
+                    start = i + 1;
+                    highBits = 0;
+                } else {
+                    highBits |= b;
+                }
+            }
+            scanned = limit;
+        }
+
+        void answerRemainder() throws IOException {
+            if (start < limit) {
+                answer(start, limit);
+                start = limit;
+            }
+        }
+
+        private void answer(int from, int to) throws IOException {
+            CharSequence plate;
+            if (highBits >= 0) {
+                view.set(from, to - from);
+                plate = view;
+            } else {
+                plate = new String(input, from, to - from, StandardCharsets.UTF_8);
+            }
+            long code = service.validateCode(plate);
+
+            ensureCapacity(128);
+            if (PlateScanner.isValid(code)) {
+                outputCount = PlateScanner.formatTo(code, output, outputCount);
+            } else {
+                write(INVALID_PREFIX);
+                int violations = PlateScanner.violations(code);
+                boolean first = true;
+                for (int i = 0; i < VIOLATION_MESSAGES.length; i++) {
+                    if ((violations & (1 << i)) != 0) {
+                        if (!first) {
+                            write(REASON_SEPARATOR);
+                        }
+                        write(VIOLATION_MESSAGES[i]);
+                        first = false;
+                    }
+                }
+            }
+            output[outputCount++] = '\n';
+        }
+
+        private void write(byte[] bytes) {
+            System.arraycopy(bytes, 0, output, outputCount, bytes.length);
+            outputCount += bytes.length;
+        }
+
+        private void ensureCapacity(int needed) throws IOException {
+            if (outputCount + needed > output.length) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (outputCount > 0) {
+                out.write(output, 0, outputCount);
+                outputCount = 0;
+            }
+            out.flush();
+        }
+    }
+}
@@ -1,14 +1,58 @@
 import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class QuickSortPartition {
     
-    public int minSubarraySumDifference(int[] nums, int k) {
-        int n = nums.length;
-        
-        int pivot = quickSelect(nums, 0, n - 1, k - 1);
+    /*
+     * Single pass: the sums are collected by the introselect partitions
+     * themselves. Every partition step classifies its whole range; whatever it
+     * discards lies entirely below or entirely above the final pivot, so its
+     * sum goes straight into sumA or sumB, and the last step splits the
+     * remaining range. No element is read again after selection.
+     *
+     * Accumulators are long: int values over an int-sized array cannot
+     * overflow them.
+     */
+    public long minSubarraySumDifference(int[] nums, int k) {
+        checkK(nums.length, k);
+        long[] sums = new long[2];
+        int pivot = selectRange(nums, 0, nums.length - 1, k - 1, sums);
+        return difference(sums[0], sums[1], pivot);
+    }
+    
+    /**
+     * Same as minSubarraySumDifference(int[], int) for long values.
+     *
+     * The sums are accumulated in 128 bits, so intermediate totals may pass
+     * the long range in either direction; only the final sums and their
+     * difference are range-checked, and the result does not depend on the
+     * order the partitions visit the values.
+     *
+     * @throws ArithmeticException if a final sum, or the difference, does not fit in a long
+     */
+    public long minSubarraySumDifference(long[] nums, int k) {
+        checkK(nums.length, k);
+        long[] sums = new long[4];
+        long pivot = selectRange(nums, 0, nums.length - 1, k - 1, sums);
+        int larger = compare128(sums[A_HIGH], sums[A_LOW], sums[B_HIGH], sums[B_LOW]) > 0 ? A_HIGH : B_HIGH;
+        add128(sums, larger, pivot);
+        long sumA = toLongExact(sums[A_HIGH], sums[A_LOW]);
+        long sumB = toLongExact(sums[B_HIGH], sums[B_LOW]);
+        return Math.absExact(Math.subtractExact(sumA, sumB));
+    }
+    
+    /**
+     * Two-pass version (select, then scan the whole array again), kept as the
+     * baseline for the fused path in benchmarks.
+     */
+    long minSubarraySumDifferenceTwoPass(int[] nums, int k) {
+        checkK(nums.length, k);
+        int pivot = introSelect(nums, k - 1);
         
-        int sumA = 0;
-        int sumB = 0;
+        long sumA = 0;
+        long sumB = 0;
         
         for (int num : nums) {
             if (num < pivot) {
@@ -18,6 +62,10 @@ public class QuickSortPartition {
             }
         }
         
+        return difference(sumA, sumB, pivot);
+    }
+    
+    private static long difference(long sumA, long sumB, int pivot) {
         if (sumA > sumB) {
             sumA += pivot;
         } else {
@@ -27,6 +75,12 @@ public class QuickSortPartition {
         return Math.abs(sumA - sumB);
     }
     
+    private static void checkK(int n, int k) {
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+    }
+    
     private int quickSelect(int[] nums, int left, int right, int k) {
         if (left == right) {
             return nums[left];
@@ -64,6 +118,698 @@ public class QuickSortPartition {
         nums[j] = temp;
     }
     
+    /**
+     * Package-private entry to the original recursive quickselect, kept as the
+     * baseline the introselect path is benchmarked against.
+     */
+    int quickSelect(int[] nums, int k) {
+        return quickSelect(nums, 0, nums.length - 1, k);
+    }
+    
+    /*
+     * Introselect: finds the k-th smallest value (k is 0-based) in O(n), and
+     * rearranges nums so smaller values come before index k and larger after.
+     *
+     * - Iterative: the loop narrows [left, right], so no stack is used
+     * - Pivot: median of three for small ranges, Tukey's ninther (median of
+     *   three medians of three) for larger ones, so sorted and reversed input
+     *   split evenly
+     * - Three-way partition: values equal to the pivot are grouped in the
+     *   middle and never looked at again, so duplicates and all-equal input
+     *   finish in one pass
+     * - After log2(n) bad partitions (the kept side is more than 3/4 of the
+     *   range) the pivot becomes the median of medians of groups of five,
+     *   which guarantees linear time on adversarial input
+     *
+     * The long[] overloads below mirror the int[] ones line for line.
+     */
+    private static final int INSERTION_SELECT_THRESHOLD = 16;
+    private static final int NINTHER_THRESHOLD = 128;
+    
+    public int introSelect(int[] nums, int k) {
+        if (k < 0 || k >= nums.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        return selectRange(nums, 0, nums.length - 1, k, null);
+    }
+    
+    public long introSelect(long[] nums, int k) {
+        if (k < 0 || k >= nums.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        return selectRange(nums, 0, nums.length - 1, k, null);
+    }
+    
+    /**
+     * @param sums if not null, sums[0] and sums[1] receive the sums of the
+     *             values strictly below and strictly above the selected value
+     */
+    private int selectRange(int[] nums, int left, int right, int k, long[] sums) {
+        int badPartitionsLeft = 32 - Integer.numberOfLeadingZeros(right - left + 1);
+        long[] partitionSums = new long[2];
+        
+        while (right - left >= INSERTION_SELECT_THRESHOLD) {
+            int size = right - left + 1;
+            int pivot = badPartitionsLeft > 0
+                    ? nums[choosePivot(nums, left, right)]
+                    : medianOfMedians(nums, left, right);
+            
+            long bounds = partition3(nums, left, right, pivot, partitionSums, sums != null);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            long equalSum = (long) pivot * (gt - lt + 1);
+            
+            if (k < lt) {
+                // Discarded [lt, right] is all above the answer
+                if (sums != null) sums[1] += equalSum + partitionSums[1];
+                right = lt - 1;
+            } else if (k > gt) {
+                // Discarded [left, gt] is all below the answer
+                if (sums != null) sums[0] += partitionSums[0] + equalSum;
+                left = gt + 1;
+            } else {
+                if (sums != null) {
+                    sums[0] += partitionSums[0];
+                    sums[1] += partitionSums[1];
+                }
+                return pivot;
+            }
+            
+            if (right - left + 1 > size / 4 * 3) {
+                badPartitionsLeft--;
+            }
+        }
+        
+        insertionSort(nums, left, right);
+        int value = nums[k];
+        if (sums != null) {
+            for (int i = left; i <= right; i++) {
+                if (nums[i] < value) {
+                    sums[0] += nums[i];
+                } else if (nums[i] > value) {
+                    sums[1] += nums[i];
+                }
+            }
+        }
+        return value;
+    }
+    
+    private int choosePivot(int[] nums, int left, int right) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median3(nums, left, mid, right);
+        }
+        int step = (right - left) / 8;
+        return median3(nums,
+                median3(nums, left, left + step, left + 2 * step),
+                median3(nums, mid - step, mid, mid + step),
+                median3(nums, right - 2 * step, right - step, right));
+    }
+    
+    // Index of the median of nums[a], nums[b], nums[c]
+    private int median3(int[] nums, int a, int b, int c) {
+        if (nums[a] < nums[b]) {
+            return nums[b] < nums[c] ? b : nums[a] < nums[c] ? c : a;
+        }
+        return nums[a] < nums[c] ? a : nums[b] < nums[c] ? c : b;
+    }
+    
+    /**
+     * Three-way partition of nums[left..right] around pivot:
+     * [left, lt) < pivot, [lt, gt] == pivot, (gt, right] > pivot.
+     *
+     * Bentley-McIlroy scheme: a Hoare-style scan from both ends swaps only
+     * out-of-place pairs, parking values equal to the pivot at the two ends,
+     * which are then swapped into the middle. On distinct values this does
+     * far fewer swaps than a one-directional Dutch flag pass.
+     *
+     * Every value is classified exactly once, so when summing is set that is
+     * where the sums of the values below and above the pivot are taken (into
+     * sums[0], sums[1]).
+     *
+     * @return lt and gt packed as (lt << 32) | gt
+     */
+    private long partition3(int[] nums, int left, int right, int pivot, long[] sums, boolean summing) {
+        int i = left;
+        int j = right;
+        int p = left;   // [left, p) parked equals
+        int q = right;  // (q, right] parked equals
+        long below = 0;
+        long above = 0;
+        
+        while (true) {
+            while (i <= j && nums[i] <= pivot) {
+                if (nums[i] == pivot) {
+                    swap(nums, p++, i);
+                } else if (summing) {
+                    below += nums[i];
+                }
+                i++;
+            }
+            while (i <= j && nums[j] >= pivot) {
+                if (nums[j] == pivot) {
+                    swap(nums, q--, j);
+                } else if (summing) {
+                    above += nums[j];
+                }
+                j--;
+            }
+            if (i > j) {
+                break;
+            }
+            if (summing) {
+                below += nums[j];
+                above += nums[i];
+            }
+            swap(nums, i++, j--);
+        }
+        
+        // Now [p, i) < pivot and (j, q] > pivot, with i == j + 1
+        int lt = left + (i - p);
+        int gt = right - (q - j);
+        swapBlocks(nums, left, i - Math.min(p - left, i - p), Math.min(p - left, i - p));
+        swapBlocks(nums, i, right - Math.min(right - q, q - j) + 1, Math.min(right - q, q - j));
+        sums[0] = below;
+        sums[1] = above;
+        return (long) lt << 32 | gt;
+    }
+    
+    private void swapBlocks(int[] nums, int a, int b, int length) {
+        for (int s = 0; s < length; s++) {
+            swap(nums, a + s, b + s);
+        }
+    }
+    
+    // Sorts each group of five, moves the group medians to the front and selects their median
+    private int medianOfMedians(int[] nums, int left, int right) {
+        int medians = left;
+        for (int group = left; group <= right; group += 5) {
+            int end = Math.min(group + 4, right);
+            insertionSort(nums, group, end);
+            swap(nums, medians++, (group + end) >>> 1);
+        }
+        return selectRange(nums, left, medians - 1, (left + medians - 1) >>> 1, null);
+    }
+    
+    private void insertionSort(int[] nums, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int x = nums[i];
+            int j = i - 1;
+            while (j >= left && nums[j] > x) {
+                nums[j + 1] = nums[j];
+                j--;
+            }
+            nums[j + 1] = x;
+        }
+    }
+    
+    /*
+     * Multi-select: several order statistics in one partitioning pass.
+     * Each partition step sends every requested rank to the side that holds
+     * it. Ranks landing on the pivot's block are done, and a side without
+     * requested ranks is never partitioned again. Finding m ranks costs
+     * O(n log m) instead of m separate O(n) selections.
+     *
+     * Like introSelect it rearranges nums: afterwards nums[k] holds the k-th
+     * smallest value for every requested k.
+     */
+    public int[] multiSelect(int[] nums, int[] ks) {
+        for (int k : ks) {
+            if (k < 0 || k >= nums.length) {
+                throw new IllegalArgumentException("k out of range: " + k);
+            }
+        }
+        int[] ranks = ks.clone();
+        Arrays.sort(ranks);
+        if (nums.length > 0) {
+            multiSelectRange(nums, 0, nums.length - 1, ranks, 0, ranks.length,
+                    32 - Integer.numberOfLeadingZeros(nums.length));
+        }
+        
+        int[] values = new int[ks.length];
+        for (int i = 0; i < ks.length; i++) {
+            values[i] = nums[ks[i]];
+        }
+        return values;
+    }
+    
+    /* Selects the sorted ranks[from, to) within nums[left..right]; loops on the right side, recurses on the left. */
+    private void multiSelectRange(int[] nums, int left, int right, int[] ranks, int from, int to,
+                                  int badPartitionsLeft) {
+        long[] unused = new long[2];
+        while (from < to) {
+            if (right - left < INSERTION_SELECT_THRESHOLD) {
+                insertionSort(nums, left, right);
+                return;
+            }
+            if (to - from == 1) {
+                selectRange(nums, left, right, ranks[from], null);
+                return;
+            }
+            
+            int size = right - left + 1;
+            int pivot = badPartitionsLeft > 0
+                    ? nums[choosePivot(nums, left, right)]
+                    : medianOfMedians(nums, left, right);
+            long bounds = partition3(nums, left, right, pivot, unused, false);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            if (Math.max(lt - left, right - gt) > size / 4 * 3) {
+                badPartitionsLeft--;
+            }
+            
+            int leftEnd = lowerBound(ranks, from, to, lt);
+            int rightStart = lowerBound(ranks, leftEnd, to, gt + 1);
+            multiSelectRange(nums, left, lt - 1, ranks, from, leftEnd, badPartitionsLeft);
+            left = gt + 1;
+            from = rightStart;
+        }
+    }
+    
+    // First index in the sorted ranks[from, to) whose value is at least key
+    private static int lowerBound(int[] ranks, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (ranks[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+    
+    /**
+     * The k largest values of nums, in no particular order. nums is not
+     * modified; a copy is partitioned once around the (n-k)-th value.
+     */
+    public int[] topK(int[] nums, int k) {
+        if (k < 0 || k > nums.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        if (k == 0) {
+            return new int[0];
+        }
+        int[] work = nums.clone();
+        int from = nums.length - k;
+        selectRange(work, 0, work.length - 1, from, null);
+        return Arrays.copyOfRange(work, from, work.length);
+    }
+    
+    /* ---- long[] overloads: same algorithm, sums kept in 128 bits ---- */
+    
+    // Word offsets in a long[] sums holding two 128-bit totals (below, above the pivot)
+    private static final int A_HIGH = 0;
+    private static final int A_LOW = 1;
+    private static final int B_HIGH = 2;
+    private static final int B_LOW = 3;
+    
+    // Adds the 128-bit two's complement value (high, low) to sums[at], sums[at + 1]
+    private static void add128(long[] sums, int at, long high, long low) {
+        long sum = sums[at + 1] + low;
+        sums[at] += high + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        sums[at + 1] = sum;
+    }
+    
+    private static void add128(long[] sums, int at, long value) {
+        add128(sums, at, value >> 63, value);
+    }
+    
+    private static int compare128(long highA, long lowA, long highB, long lowB) {
+        return highA != highB ? Long.compare(highA, highB) : Long.compareUnsigned(lowA, lowB);
+    }
+    
+    private static long toLongExact(long high, long low) {
+        if (high != low >> 63) {
+            throw new ArithmeticException("long overflow");
+        }
+        return low;
+    }
+    
+    /**
+     * @param sums if not null, receives the 128-bit sums of the values strictly
+     *             below (A_HIGH, A_LOW) and strictly above (B_HIGH, B_LOW) the
+     *             selected value
+     */
+    private long selectRange(long[] nums, int left, int right, int k, long[] sums) {
+        int badPartitionsLeft = 32 - Integer.numberOfLeadingZeros(right - left + 1);
+        long[] partitionSums = new long[4];
+        
+        while (right - left >= INSERTION_SELECT_THRESHOLD) {
+            int size = right - left + 1;
+            long pivot = badPartitionsLeft > 0
+                    ? nums[choosePivot(nums, left, right)]
+                    : medianOfMedians(nums, left, right);
+            
+            long bounds = partition3(nums, left, right, pivot, partitionSums, sums != null);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            
+            if (k < lt) {
+                if (sums != null) {
+                    add128(sums, B_HIGH, Math.multiplyHigh(pivot, gt - lt + 1), pivot * (gt - lt + 1));
+                    add128(sums, B_HIGH, partitionSums[B_HIGH], partitionSums[B_LOW]);
+                }
+                right = lt - 1;
+            } else if (k > gt) {
+                if (sums != null) {
+                    add128(sums, A_HIGH, Math.multiplyHigh(pivot, gt - lt + 1), pivot * (gt - lt + 1));
+                    add128(sums, A_HIGH, partitionSums[A_HIGH], partitionSums[A_LOW]);
+                }
+                left = gt + 1;
+            } else {
+                if (sums != null) {
+                    add128(sums, A_HIGH, partitionSums[A_HIGH], partitionSums[A_LOW]);
+                    add128(sums, B_HIGH, partitionSums[B_HIGH], partitionSums[B_LOW]);
+                }
+                return pivot;
+            }
+            
+            if (right - left + 1 > size / 4 * 3) {
+                badPartitionsLeft--;
+            }
+        }
+        
+        insertionSort(nums, left, right);
+        long value = nums[k];
+        if (sums != null) {
+            for (int i = left; i <= right; i++) {
+                if (nums[i] < value) {
+                    add128(sums, A_HIGH, nums[i]);
+                } else if (nums[i] > value) {
+                    add128(sums, B_HIGH, nums[i]);
+                }
+            }
+        }
+        return value;
+    }
+    
+    private int choosePivot(long[] nums, int left, int right) {
+        int mid = (left + right) >>> 1;
+        if (right - left < NINTHER_THRESHOLD) {
+            return median3(nums, left, mid, right);
+        }
+        int step = (right - left) / 8;
+        return median3(nums,
+                median3(nums, left, left + step, left + 2 * step),
+                median3(nums, mid - step, mid, mid + step),
+                median3(nums, right - 2 * step, right - step, right));
+    }
+    
+    private int median3(long[] nums, int a, int b, int c) {
+        if (nums[a] < nums[b]) {
+            return nums[b] < nums[c] ? b : nums[a] < nums[c] ? c : a;
+        }
+        return nums[a] < nums[c] ? a : nums[b] < nums[c] ? c : b;
+    }
+    
+    /*
+     * Same as the int[] partition3; sums receives the two partial sums in 128
+     * bits (A_HIGH..B_LOW). In the loop each value is split into its signed high
+     * and unsigned low 32 bits, summed separately: for fewer than 2^31 values
+     * neither sum can overflow, and no carry has to be tracked per element.
+     */
+    private long partition3(long[] nums, int left, int right, long pivot, long[] sums, boolean summing) {
+        int i = left;
+        int j = right;
+        int p = left;
+        int q = right;
+        long belowHigh = 0;
+        long belowLow = 0;
+        long aboveHigh = 0;
+        long aboveLow = 0;
+        
+        while (true) {
+            while (i <= j && nums[i] <= pivot) {
+                long v = nums[i];
+                if (v == pivot) {
+                    swap(nums, p++, i);
+                } else if (summing) {
+                    belowHigh += v >> 32;
+                    belowLow += v & 0xFFFFFFFFL;
+                }
+                i++;
+            }
+            while (i <= j && nums[j] >= pivot) {
+                long v = nums[j];
+                if (v == pivot) {
+                    swap(nums, q--, j);
+                } else if (summing) {
+                    aboveHigh += v >> 32;
+                    aboveLow += v & 0xFFFFFFFFL;
+                }
+                j--;
+            }
+            if (i > j) {
+                break;
+            }
+            if (summing) {
+                belowHigh += nums[j] >> 32;
+                belowLow += nums[j] & 0xFFFFFFFFL;
+                aboveHigh += nums[i] >> 32;
+                aboveLow += nums[i] & 0xFFFFFFFFL;
+            }
+            swap(nums, i++, j--);
+        }
+        
+        int lt = left + (i - p);
+        int gt = right - (q - j);
+        swapBlocks(nums, left, i - Math.min(p - left, i - p), Math.min(p - left, i - p));
+        swapBlocks(nums, i, right - Math.min(right - q, q - j) + 1, Math.min(right - q, q - j));
+        Arrays.fill(sums, 0);
+        add128(sums, A_HIGH, belowHigh >> 32, belowHigh << 32);
+        add128(sums, A_HIGH, 0, belowLow);
+        add128(sums, B_HIGH, aboveHigh >> 32, aboveHigh << 32);
+        add128(sums, B_HIGH, 0, aboveLow);
+        return (long) lt << 32 | gt;
+    }
+    
+    private void swap(long[] nums, int i, int j) {
+        long temp = nums[i];
+        nums[i] = nums[j];
+        nums[j] = temp;
+    }
+    
+    private void swapBlocks(long[] nums, int a, int b, int length) {
+        for (int s = 0; s < length; s++) {
+            swap(nums, a + s, b + s);
+        }
+    }
+    
+    private long medianOfMedians(long[] nums, int left, int right) {
+        int medians = left;
+        for (int group = left; group <= right; group += 5) {
+            int end = Math.min(group + 4, right);
+            insertionSort(nums, group, end);
+            swap(nums, medians++, (group + end) >>> 1);
+        }
+        return selectRange(nums, left, medians - 1, (left + medians - 1) >>> 1, null);
+    }
+    
+    private void insertionSort(long[] nums, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            long x = nums[i];
+            int j = i - 1;
+            while (j >= left && nums[j] > x) {
+                nums[j + 1] = nums[j];
+                j--;
+            }
+            nums[j + 1] = x;
+        }
+    }
+    
+    /*
+     * Parallel select for very large arrays. Each round narrows the candidate
+     * values to a band that must contain the answer:
+     *
+     * - Sample: sort SAMPLE_SIZE randomly chosen candidates and take the
+     *   values just below and above rank k of the sample as splitters
+     *   (Floyd-Rivest style), so the band around k holds a few percent of
+     *   the candidates
+     * - Count: chunks count their values below and above the splitters in
+     *   parallel, which tells which of the three bands holds rank k
+     * - Scatter: chunks copy their values in that band in parallel, each to
+     *   its own offset (a prefix sum of the chunk counts) in a new array
+     *
+     * When the band is the whole candidate set (only possible with few
+     * distinct values) the round is redone with both splitters at the lower
+     * one, which either shrinks the set or proves every candidate equal.
+     * Once at most threshold candidates remain they are finished with
+     * introSelect.
+     *
+     * The input array is only read, never reordered.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    private static final int SAMPLE_SIZE = 4096;
+    private static final int SPLITTER_GAP = 128;  // sample ranks kept on each side of k
+    
+    public int parallelSelect(int[] nums, int k) {
+        return parallelSelect(nums, k, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * @param threshold candidate sets up to this size are finished sequentially,
+     *                  and no parallel chunk is smaller than this
+     */
+    public int parallelSelect(int[] nums, int k, ForkJoinPool pool, int threshold) {
+        if (k < 0 || k >= nums.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        SplittableRandom random = new SplittableRandom(nums.length);
+        int[] candidates = nums;
+        int size = nums.length;
+        
+        while (size > threshold) {
+            int[] sample = new int[SAMPLE_SIZE];
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                sample[i] = candidates[random.nextInt(size)];
+            }
+            Sorting.sort(sample);
+            int rank = (int) ((long) k * SAMPLE_SIZE / size);
+            int low = sample[Math.max(0, rank - SPLITTER_GAP)];
+            int high = sample[Math.min(SAMPLE_SIZE - 1, rank + SPLITTER_GAP)];
+            
+            int chunkSize = Math.max(threshold, size / (pool.getParallelism() * 4) + 1);
+            int chunks = (size + chunkSize - 1) / chunkSize;
+            int[] below = new int[chunks];
+            int[] above = new int[chunks];
+            pool.invoke(new ChunkTask(candidates, size, chunkSize, 0, chunks, low, high, below, above, null, null));
+            long belowTotal = 0;
+            long aboveTotal = 0;
+            for (int c = 0; c < chunks; c++) {
+                belowTotal += below[c];
+                aboveTotal += above[c];
+            }
+            
+            int bandLow;
+            int bandHigh;
+            int[] bandCounts = new int[chunks];
+            if (k < belowTotal) {
+                bandLow = Integer.MIN_VALUE;
+                bandHigh = low - 1;
+                System.arraycopy(below, 0, bandCounts, 0, chunks);
+            } else if (k >= size - aboveTotal) {
+                bandLow = high + 1;
+                bandHigh = Integer.MAX_VALUE;
+                System.arraycopy(above, 0, bandCounts, 0, chunks);
+                k -= (int) (size - aboveTotal);
+            } else if (low == high) {
+                return low;
+            } else if (belowTotal + aboveTotal == 0) {
+                // No progress: every candidate lies within [low, high]; split at low alone
+                pool.invoke(new ChunkTask(candidates, size, chunkSize, 0, chunks, low, low, below, above, null, null));
+                aboveTotal = 0;
+                for (int c = 0; c < chunks; c++) {
+                    aboveTotal += above[c];
+                }
+                if (k < size - aboveTotal) {
+                    return low;  // nothing is below low
+                }
+                bandLow = low + 1;
+                bandHigh = Integer.MAX_VALUE;
+                System.arraycopy(above, 0, bandCounts, 0, chunks);
+                k -= (int) (size - aboveTotal);
+            } else {
+                bandLow = low;
+                bandHigh = high;
+                for (int c = 0; c < chunks; c++) {
+                    int length = Math.min(chunkSize, size - c * chunkSize);
+                    bandCounts[c] = length - below[c] - above[c];
+                }
+                k -= (int) belowTotal;
+            }
+            
+            int[] offsets = new int[chunks];
+            int bandSize = 0;
+            for (int c = 0; c < chunks; c++) {
+                offsets[c] = bandSize;
+                bandSize += bandCounts[c];
+            }
+            int[] band = new int[bandSize];
+            pool.invoke(new ChunkTask(candidates, size, chunkSize, 0, chunks, bandLow, bandHigh, null, null,
+                    band, offsets));
+            candidates = band;
+            size = bandSize;
+        }
+        
+        int[] work = candidates == nums ? nums.clone() : candidates;
+        return selectRange(work, 0, size - 1, k, null);
+    }
+    
+    /**
+     * One parallel pass over the chunks of candidates[0, size). Without a
+     * destination it counts, per chunk, the values below low and above high;
+     * with one it copies the values in [low, high] to dst at the chunk's
+     * offset.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] candidates;
+        private final int size;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+        private final int low;
+        private final int high;
+        private final int[] below;
+        private final int[] above;
+        private final int[] dst;
+        private final int[] offsets;
+        
+        ChunkTask(int[] candidates, int size, int chunkSize, int from, int to, int low, int high,
+                  int[] below, int[] above, int[] dst, int[] offsets) {
+            this.candidates = candidates;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+            this.low = low;
+            this.high = high;
+            this.below = below;
+            this.above = above;
+            this.dst = dst;
+            this.offsets = offsets;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(candidates, size, chunkSize, from, mid, low, high, below, above, dst, offsets),
+                          new ChunkTask(candidates, size, chunkSize, mid, to, low, high, below, above, dst, offsets));
+                return;
+            }
+            
+            int start = from * chunkSize;
+            int end = Math.min(start + chunkSize, size);
+            if (dst == null) {
+                int countBelow = 0;
+                int countAbove = 0;
+                for (int i = start; i < end; i++) {
+                    int v = candidates[i];
+                    countBelow += v < low ? 1 : 0;
+                    countAbove += v > high ? 1 : 0;
+                }
+                below[from] = countBelow;
+                above[from] = countAbove;
+            } else {
+                // v - low, unsigned, is at most high - low exactly when v is in [low, high]
+                int width = high - low;
+                int o = offsets[from];
+                for (int i = start; i < end; i++) {
+                    int v = candidates[i];
+                    if (Integer.compareUnsigned(v - low, width) <= 0) {
+                        dst[o++] = v;
+                    }
+                }
+            }
+        }
+    }
+    
     public static void main(String[] args) {
         QuickSortPartition solution = new QuickSortPartition();
         
@@ -71,7 +817,7 @@ public class QuickSortPartition {
         
         int[] nums1 = {8, 3, 1, 5, 2};
         int k1 = 3;
-        int result1 = solution.minSubarraySumDifference(nums1.clone(), k1);
+        long result1 = solution.minSubarraySumDifference(nums1.clone(), k1);
         System.out.println("Example 1:");
         System.out.println("Input: nums = " + Arrays.toString(nums1) + ", k = " + k1);
         System.out.println("Sorted: [1, 2, 3, 5, 8]");
@@ -83,7 +829,7 @@ public class QuickSortPartition {
         
         int[] nums2 = {5, 2, 8, 1, 9};
         int k2 = 2;
-        int result2 = solution.minSubarraySumDifference(nums2.clone(), k2);
+        long result2 = solution.minSubarraySumDifference(nums2.clone(), k2);
         System.out.println("Example 2:");
         System.out.println("Input: nums = " + Arrays.toString(nums2) + ", k = " + k2);
         System.out.println("Sorted: [1, 2, 5, 8, 9]");
@@ -93,11 +839,251 @@ public class QuickSortPartition {
         
         int[] nums3 = {10, 5, 3, 7, 2};
         int k3 = 4;
-        int result3 = solution.minSubarraySumDifference(nums3.clone(), k3);
+        long result3 = solution.minSubarraySumDifference(nums3.clone(), k3);
         System.out.println("Example 3:");
         System.out.println("Input: nums = " + Arrays.toString(nums3) + ", k = " + k3);
         System.out.println("Sorted: [2, 3, 5, 7, 10]");
         System.out.println("4th smallest (pivot) = 7");
         System.out.println("Output: " + result3);
+        System.out.println();
+        
+        System.out.println("=== OVERFLOW BOUNDARY ===\n");
+        int[] nums4 = {1, 2, 1 << 30, 1 << 30};
+        System.out.println("Input: nums = " + Arrays.toString(nums4) + ", k = 2");
+        System.out.println("B = 2^30 + 2^30 overflows int");
+        System.out.println("Expected: " + ((1L << 31) + 1));
+        System.out.println("Got: " + solution.minSubarraySumDifference(nums4.clone(), 2));
+        System.out.println();
+        
+        int[] nums5 = {Integer.MIN_VALUE, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        System.out.println("Input: nums = " + Arrays.toString(nums5) + ", k = 3");
+        System.out.println("Expected: " + (2L * Integer.MAX_VALUE - 2L * Integer.MIN_VALUE));
+        System.out.println("Got: " + solution.minSubarraySumDifference(nums5.clone(), 3));
+        System.out.println();
+        
+        long[] nums6 = {Long.MAX_VALUE / 2 + 1, Long.MAX_VALUE / 2 + 1, 0};
+        System.out.println("Input: nums = " + Arrays.toString(nums6) + ", k = 1 (long[])");
+        System.out.println("Expected: ArithmeticException (B exceeds Long.MAX_VALUE)");
+        try {
+            System.out.println("Got: " + solution.minSubarraySumDifference(nums6.clone(), 1));
+        } catch (ArithmeticException e) {
+            System.out.println("Got: ArithmeticException");
+        }
+        long[] nums7 = {Long.MAX_VALUE / 2, Long.MAX_VALUE / 2, 0, -1};
+        System.out.println("Input: nums = " + Arrays.toString(nums7) + ", k = 2 (long[])");
+        System.out.println("Expected: " + Long.MAX_VALUE);
+        System.out.println("Got: " + solution.minSubarraySumDifference(nums7.clone(), 2));
+        System.out.println();
+        
+        java.util.Random sumRandom = new java.util.Random(16);
+        boolean sumsMatch = true;
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 1 + sumRandom.nextInt(3000);
+            int[] nums = new int[n];
+            long[] longs = new long[n];
+            boolean fewUnique = trial % 2 == 0;
+            for (int i = 0; i < n; i++) {
+                nums[i] = fewUnique ? Integer.MAX_VALUE - sumRandom.nextInt(4) : sumRandom.nextInt();
+                longs[i] = nums[i];
+            }
+            int k = 1 + sumRandom.nextInt(n);
+            int[] sorted = nums.clone();
+            Arrays.sort(sorted);
+            long sumA = 0;
+            long sumB = 0;
+            for (int num : sorted) {
+                if (num < sorted[k - 1]) {
+                    sumA += num;
+                } else if (num > sorted[k - 1]) {
+                    sumB += num;
+                }
+            }
+            long expected = sumA > sumB ? Math.abs(sumA + sorted[k - 1] - sumB) : Math.abs(sumA - sumB - sorted[k - 1]);
+            sumsMatch &= solution.minSubarraySumDifference(nums.clone(), k) == expected
+                    && solution.minSubarraySumDifferenceTwoPass(nums.clone(), k) == expected
+                    && solution.minSubarraySumDifference(longs, k) == expected;
+        }
+        System.out.println("500 random arrays near the int limits, int[] / two-pass / long[] match a sort-based reference: "
+                + sumsMatch);
+        System.out.println();
+        
+        long[] nums8 = {-1, 3, Long.MIN_VALUE + 1, Long.MAX_VALUE};
+        System.out.println("Input: nums = " + Arrays.toString(nums8) + ", k = 1 (long[], partial sums pass the long range)");
+        System.out.println("Expected: 2");
+        System.out.println("Got: " + solution.minSubarraySumDifference(nums8.clone(), 1));
+        long[] nums9 = {-Long.MAX_VALUE, 1};
+        System.out.println("Input: nums = " + Arrays.toString(nums9) + ", k = 2 (long[], difference is 2^63)");
+        System.out.println("Expected: ArithmeticException");
+        try {
+            System.out.println("Got: " + solution.minSubarraySumDifference(nums9.clone(), 2));
+        } catch (ArithmeticException e) {
+            System.out.println("Got: ArithmeticException");
+        }
+        
+        // Extreme long values against an exact BigInteger reference: the result, or
+        // ArithmeticException exactly when a final sum or the difference leaves the long range
+        long[] extremes = {Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MAX_VALUE, Long.MAX_VALUE - 1, -1, 0, 1,
+                Long.MAX_VALUE / 2, Long.MIN_VALUE / 2};
+        java.math.BigInteger longMin = java.math.BigInteger.valueOf(Long.MIN_VALUE);
+        java.math.BigInteger longMax = java.math.BigInteger.valueOf(Long.MAX_VALUE);
+        boolean extremesMatch = true;
+        for (int trial = 0; trial < 20_000; trial++) {
+            int n = 1 + sumRandom.nextInt(trial % 10 == 0 ? 200 : 8);
+            long[] longs = new long[n];
+            for (int i = 0; i < n; i++) {
+                longs[i] = sumRandom.nextInt(3) == 0 ? sumRandom.nextLong() : extremes[sumRandom.nextInt(extremes.length)];
+            }
+            int k = 1 + sumRandom.nextInt(n);
+            long[] sorted = longs.clone();
+            Arrays.sort(sorted);
+            long pivot = sorted[k - 1];
+            java.math.BigInteger sumA = java.math.BigInteger.ZERO;
+            java.math.BigInteger sumB = java.math.BigInteger.ZERO;
+            for (long num : sorted) {
+                if (num < pivot) {
+                    sumA = sumA.add(java.math.BigInteger.valueOf(num));
+                } else if (num > pivot) {
+                    sumB = sumB.add(java.math.BigInteger.valueOf(num));
+                }
+            }
+            if (sumA.compareTo(sumB) > 0) {
+                sumA = sumA.add(java.math.BigInteger.valueOf(pivot));
+            } else {
+                sumB = sumB.add(java.math.BigInteger.valueOf(pivot));
+            }
+            java.math.BigInteger difference = sumA.subtract(sumB).abs();
+            boolean fits = sumA.compareTo(longMin) >= 0 && sumA.compareTo(longMax) <= 0
+                    && sumB.compareTo(longMin) >= 0 && sumB.compareTo(longMax) <= 0 && difference.compareTo(longMax) <= 0;
+            try {
+                long got = solution.minSubarraySumDifference(longs, k);
+                extremesMatch &= fits && got == difference.longValue();
+            } catch (ArithmeticException e) {
+                extremesMatch &= !fits;
+            }
+        }
+        System.out.println("20000 arrays of extreme longs match a BigInteger reference (result or exception): "
+                + extremesMatch);
+        System.out.println();
+        
+        System.out.println("=== INTROSELECT ===\n");
+        int[] example = {8, 3, 1, 5, 2};
+        System.out.println("Input: nums = " + Arrays.toString(example) + ", k = 2 (0-based)");
+        System.out.println("Expected: 3");
+        System.out.println("Got: " + solution.introSelect(example.clone(), 2));
+        
+        java.util.Random random = new java.util.Random(11);
+        String[] shapes = {"random", "sorted", "reversed", "all equal", "few unique"};
+        for (String shape : shapes) {
+            boolean match = true;
+            for (int trial = 0; trial < 200; trial++) {
+                int n = 1 + random.nextInt(2000);
+                int[] nums = new int[n];
+                for (int i = 0; i < n; i++) {
+                    nums[i] = switch (shape) {
+                        case "sorted" -> i;
+                        case "reversed" -> n - i;
+                        case "all equal" -> 7;
+                        case "few unique" -> random.nextInt(4);
+                        default -> random.nextInt();
+                    };
+                }
+                int[] sorted = nums.clone();
+                Arrays.sort(sorted);
+                int k = random.nextInt(n);
+                int[] work = nums.clone();
+                int got = solution.introSelect(work, k);
+                for (int i = 0; i < n && match; i++) {
+                    match = i < k ? work[i] <= got : i > k ? work[i] >= got : work[i] == got;
+                }
+                match &= got == sorted[k];
+            }
+            System.out.println("200 " + shape + " arrays: k-th value and partition match Arrays.sort: " + match);
+        }
+        
+        System.out.println();
+        System.out.println("=== MULTI-SELECT AND TOP-K ===\n");
+        int[] scores = {15, 3, 9, 27, 1, 12, 30, 6, 21, 18};
+        int[] percentileRanks = {4, 8, 9};
+        System.out.println("Input: nums = " + Arrays.toString(scores) + ", ks = " + Arrays.toString(percentileRanks));
+        System.out.println("Expected: [12, 27, 30]");
+        System.out.println("Got: " + Arrays.toString(solution.multiSelect(scores.clone(), percentileRanks)));
+        int[] top = solution.topK(scores, 3);
+        Arrays.sort(top);
+        System.out.println("topK(nums, 3) sorted: Expected: [21, 27, 30], Got: " + Arrays.toString(top));
+        
+        boolean multiMatch = true;
+        boolean topMatch = true;
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 1 + random.nextInt(5000);
+            int[] nums = new int[n];
+            boolean fewUnique = trial % 3 == 0;
+            for (int i = 0; i < n; i++) {
+                nums[i] = fewUnique ? random.nextInt(5) : random.nextInt();
+            }
+            int[] sorted = nums.clone();
+            Arrays.sort(sorted);
+            
+            int[] ks = new int[random.nextInt(20)];
+            for (int i = 0; i < ks.length; i++) {
+                ks[i] = random.nextInt(n);  // unsorted, duplicates allowed
+            }
+            int[] work = nums.clone();
+            int[] values = solution.multiSelect(work, ks);
+            for (int i = 0; i < ks.length; i++) {
+                multiMatch &= values[i] == sorted[ks[i]] && work[ks[i]] == sorted[ks[i]];
+            }
+            
+            int k = random.nextInt(n + 1);
+            int[] largest = solution.topK(nums, k);
+            Arrays.sort(largest);
+            topMatch &= Arrays.equals(largest, Arrays.copyOfRange(sorted, n - k, n));
+        }
+        System.out.println("500 random arrays, up to 20 ranks each: multiSelect matches Arrays.sort: " + multiMatch);
+        System.out.println("500 random arrays: topK matches the last k of Arrays.sort: " + topMatch);
+        
+        System.out.println();
+        System.out.println("=== PARALLEL SELECT ===\n");
+        System.out.println("Input: nums = " + Arrays.toString(example) + ", k = 2 (0-based)");
+        System.out.println("Expected: 3");
+        System.out.println("Got: " + solution.parallelSelect(example, 2));
+        
+        // Tiny thresholds force many sampling rounds and chunks on small inputs
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (String shape : shapes) {
+            boolean match = true;
+            for (int trial = 0; trial < 200; trial++) {
+                int n = 1 + random.nextInt(20_000);
+                int[] nums = new int[n];
+                for (int i = 0; i < n; i++) {
+                    nums[i] = switch (shape) {
+                        case "sorted" -> i;
+                        case "reversed" -> n - i;
+                        case "all equal" -> 7;
+                        case "few unique" -> random.nextInt(4) == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                        default -> random.nextInt();
+                    };
+                }
+                int[] original = nums.clone();
+                int[] sorted = nums.clone();
+                Arrays.sort(sorted);
+                int k = random.nextInt(n);
+                int threshold = 1 + random.nextInt(256);
+                match &= solution.parallelSelect(nums, k, pool, threshold) == sorted[k];
+                match &= Arrays.equals(nums, original);
+            }
+            System.out.println("200 " + shape + " arrays, thresholds 1-256: k-th value matches Arrays.sort"
+                    + " and input is untouched: " + match);
+        }
+        pool.shutdown();
+        
+        int large = 10_000_000;
+        int[] sortedLarge = new int[large];
+        for (int i = 0; i < large; i++) {
+            sortedLarge[i] = i;
+        }
+        System.out.println("Sorted 10M, k = n/2: Expected: " + large / 2
+                + ", Got: " + solution.introSelect(sortedLarge, large / 2) + " (no stack overflow)");
+        System.out.println("Sorted 10M, k = n/4: Expected: " + large / 4
+                + ", Got: " + solution.parallelSelect(sortedLarge, large / 4));
     }
 }
@@ -91,6 +91,136 @@ public class RottingOranges {
         return freshCount == 0 ? minutes : -1;
     }
     
+    private static final byte FRESH = 1;
+    private static final byte ROTTEN = 2;
+
+    /**
+     * Same result as orangesRotting, without per-cell allocation
+     * 
+     * - Grid copied into a flat byte[] (1 byte per cell instead of 4, one array
+     *   instead of one per row), framed by a border of empty cells so the four
+     *   neighbours of index i are i - stride, i + stride, i - 1, i + 1 with no
+     *   bounds checks
+     * - Cells queued as single int indices in a ring buffer that only holds the
+     *   BFS frontier; it starts at 2 × (rows + cols) and doubles if a frontier
+     *   is larger, so nothing is allocated per cell
+     * - Stops as soon as the last fresh orange rots instead of draining the
+     *   final level
+     * 
+     * Unlike orangesRotting, the input grid is left unchanged.
+     * 
+     * @param grid m x n grid with 0 (empty), 1 (fresh), 2 (rotten)
+     * @return minimum minutes until all fresh oranges rot, or -1 if impossible
+     */
+    public static int orangesRottingFlat(int[][] grid) {
+        if (grid == null || grid.length == 0) {
+            return -1;
+        }
+        int rows = grid.length;
+        int cols = grid[0].length;
+        int stride = cols + 2;
+        byte[] cells = new byte[framedSize(rows, cols)];
+        for (int r = 0; r < rows; r++) {
+            int[] row = grid[r];
+            int base = (r + 1) * stride + 1;
+            for (int c = 0; c < cols; c++) {
+                cells[base + c] = (byte) row[c];
+            }
+        }
+        return rotFramed(cells, rows, cols);
+    }
+    
+    /**
+     * orangesRottingFlat for a grid already stored row-major in a byte[]
+     * (cells[r * cols + c]); the array is left unchanged.
+     */
+    public static int orangesRottingFlat(byte[] cells, int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols != cells.length) {
+            throw new IllegalArgumentException("cells.length must be rows * cols");
+        }
+        if (rows == 0) {
+            return -1;
+        }
+        int stride = cols + 2;
+        byte[] framed = new byte[framedSize(rows, cols)];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(cells, r * cols, framed, (r + 1) * stride + 1, cols);
+        }
+        return rotFramed(framed, rows, cols);
+    }
+    
+    private static int framedSize(int rows, int cols) {
+        long size = (rows + 2L) * (cols + 2L);
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("grid too large: " + rows + " x " + cols);
+        }
+        return (int) size;
+    }
+    
+    // BFS over a grid framed by one empty cell on every side
+    private static int rotFramed(byte[] cells, int rows, int cols) {
+        int stride = cols + 2;
+        int[] neighbours = {-stride, stride, -1, 1};
+        int[] queue = new int[Integer.highestOneBit(Math.max(16, 2 * (rows + cols)) - 1) << 1];
+        int mask = queue.length - 1;
+        int head = 0;
+        int size = 0;
+        int freshCount = 0;
+        
+        for (int r = 1; r <= rows; r++) {
+            int end = r * stride + cols;
+            for (int i = r * stride + 1; i <= end; i++) {
+                if (cells[i] == ROTTEN) {
+                    if (size == queue.length) {
+                        queue = Arrays.copyOf(queue, size * 2);
+                        mask = queue.length - 1;
+                    }
+                    queue[size++] = i;
+                } else if (cells[i] == FRESH) {
+                    freshCount++;
+                }
+            }
+        }
+        
+        // After each level the queue holds exactly the oranges it rotted
+        int minutes = 0;
+        while (freshCount > 0 && size > 0) {
+            for (int level = size; level > 0; level--) {
+                int cell = queue[head];
+                head = (head + 1) & mask;
+                size--;
+                for (int offset : neighbours) {
+                    int next = cell + offset;
+                    if (cells[next] == FRESH) {
+                        cells[next] = ROTTEN;
+                        if (size == queue.length) {
+                            queue = unwrap(queue, head, size);
+                            head = 0;
+                            mask = queue.length - 1;
+                        }
+                        queue[(head + size) & mask] = next;
+                        size++;
+                        freshCount--;
+                    }
+                }
+            }
+            if (size > 0) {
+                minutes++;
+            }
+        }
+        
+        return freshCount == 0 ? minutes : -1;
+    }
+    
+    // Full ring copied into an array twice as large, oldest element first
+    private static int[] unwrap(int[] queue, int head, int size) {
+        int[] grown = new int[queue.length * 2];
+        int firstPart = Math.min(size, queue.length - head);
+        System.arraycopy(queue, head, grown, 0, firstPart);
+        System.arraycopy(queue, 0, grown, firstPart, size - firstPart);
+        return grown;
+    }
+    
     /**
      * Verbose version with step-by-step visualization
      */
@@ -288,5 +418,70 @@ public class RottingOranges {
         System.out.println("\nExpected: 3");
         System.out.println("Got:      " + result5);
         System.out.println("Match: " + (result5 == 3));
+        
+        // Flat variant against the original on random grids
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("FLAT VARIANT: orangesRottingFlat");
+        System.out.println("=".repeat(60));
+        Random random = new Random(25);
+        boolean match = true;
+        for (int trial = 0; trial < 2000; trial++) {
+            int rows = 1 + random.nextInt(30);
+            int cols = random.nextInt(30);
+            int rottenPercent = random.nextInt(10);
+            int emptyPercent = random.nextInt(40);
+            int[][] grid = new int[rows][cols];
+            byte[] cells = new byte[rows * cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int roll = random.nextInt(100);
+                    grid[r][c] = roll < rottenPercent ? 2 : roll < rottenPercent + emptyPercent ? 0 : 1;
+                    cells[r * cols + c] = (byte) grid[r][c];
+                }
+            }
+            int flat = orangesRottingFlat(grid);
+            int flatBytes = orangesRottingFlat(cells, rows, cols);
+            match &= flat == orangesRotting(grid) && flatBytes == flat;
+        }
+        System.out.println("2000 random grids (up to 30 x 30): Expected: orangesRotting's result");
+        System.out.println("Match: " + match);
+        
+        // Time and allocation on one large grid, each method run once after warm-up
+        int side = 3000;
+        int[][] large = new int[side][side];
+        for (int[] row : large) {
+            Arrays.fill(row, 1);
+        }
+        large[side / 2][side / 2] = 2;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            orangesRotting(copy(large));
+            orangesRottingFlat(large);
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        int[][] work = copy(large);
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int expected = orangesRotting(work);
+        long originalNanos = System.nanoTime() - start;
+        long originalBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+        allocated = threads.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+        int got = orangesRottingFlat(large);
+        long flatNanos = System.nanoTime() - start;
+        long flatBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+        System.out.println("\n" + side + " x " + side + " fresh grid, one rotten orange in the centre");
+        System.out.println("Expected: " + expected + " minutes, Got: " + got + ", Match: " + (expected == got));
+        System.out.printf("orangesRotting:     %,6d ms, %,13d bytes allocated%n", originalNanos / 1_000_000, originalBytes);
+        System.out.printf("orangesRottingFlat: %,6d ms, %,13d bytes allocated (including the byte[] copy)%n",
+                flatNanos / 1_000_000, flatBytes);
+    }
+    
+    private static int[][] copy(int[][] grid) {
+        int[][] copy = new int[grid.length][];
+        for (int r = 0; r < grid.length; r++) {
+            copy[r] = grid[r].clone();
+        }
+        return copy;
     }
 }
@@ -0,0 +1,1408 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting - primitive int[] / long[] sorts for the rest of the repo
+ *
+ * Strategies, each usable on its own:
+ * - insertionSort: tiny ranges, and the leaves of the quicksort
+ * - dualPivotQuicksort: in place, two pivots from a five-element sample,
+ *   elements equal to a pivot squeezed out of a large middle part; heapsort
+ *   past 2 log2(n) levels, so O(n log n) on any input
+ * - radixSort: LSD, one byte per pass (4 passes for int, 8 for long), sign
+ *   bit flipped on the top byte; a pass is skipped when every key has the
+ *   same byte there, so small or clustered keys take fewer passes
+ * - naturalMergeSort: TimSort-style merging of the runs already in the
+ *   input, galloping through long one-sided stretches; O(n) when sorted
+ * - parallelMergeSort: fork-join halves sorted into alternating buffers, and
+ *   merges split in parallel too (the same scheme as Merge.countSmallerParallel)
+ *
+ * sort(a) picks one by size and presortedness, on the calling thread only.
+ * Already sorted and strictly descending input cost one scan, input whose
+ * ascending runs average 32 or more elements goes to the natural merge sort,
+ * and the rest to radix sort (large) or the quicksort (small).
+ *
+ * Parallelism is opt-in, as with Arrays.sort and Arrays.parallelSort:
+ * parallelSort(a) uses the parallel merge sort on the common pool for large
+ * arrays and falls back to sort(a) otherwise.
+ *
+ * Allocation is bounded: insertion and quicksort allocate nothing, the radix
+ * and parallel merge sorts one buffer the size of the array (plus 4-8 KB of
+ * counts for radix), the natural merge sort at most half that.
+ */
+public final class Sorting {
+    static final int INSERTION_THRESHOLD = 44;
+    static final int RADIX_THRESHOLD_INT = 1 << 9;
+    static final int RADIX_THRESHOLD_LONG = 1 << 11;
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+    static final int MIN_AVERAGE_RUN = 32;
+    static final int MIN_MERGE = 32;
+    static final int RUN_STACK_SIZE = 49;
+    static final int MIN_GALLOP = 7;
+    public static final int DEFAULT_PARALLEL_LEAF = 1 << 13;
+
+    private Sorting() {
+    }
+
+    /* ============================================================================
+     * AUTOMATIC SELECTION
+     * ============================================================================ */
+
+    public static void sort(int[] a) {
+        int n = a.length;
+        if (n <= INSERTION_THRESHOLD) {
+            insertionSort(a, 0, n);
+            return;
+        }
+        if (descending(a)) {
+            reverse(a, 0, n);
+            return;
+        }
+        int descents = descents(a, n / MIN_AVERAGE_RUN);
+        if (descents == 0) {
+            return;
+        }
+        if (descents <= n / MIN_AVERAGE_RUN) {
+            naturalMergeSort(a);
+        } else if (n >= RADIX_THRESHOLD_INT) {
+            radixSort(a);
+        } else {
+            dualPivotQuicksort(a, 0, n);
+        }
+    }
+
+    public static void sort(long[] a) {
+        int n = a.length;
+        if (n <= INSERTION_THRESHOLD) {
+            insertionSort(a, 0, n);
+            return;
+        }
+        if (descending(a)) {
+            reverse(a, 0, n);
+            return;
+        }
+        int descents = descents(a, n / MIN_AVERAGE_RUN);
+        if (descents == 0) {
+            return;
+        }
+        if (descents <= n / MIN_AVERAGE_RUN) {
+            naturalMergeSort(a);
+        } else if (n >= RADIX_THRESHOLD_LONG) {
+            radixSort(a);
+        } else {
+            dualPivotQuicksort(a, 0, n);
+        }
+    }
+
+    /**
+     * Sorts a using the common ForkJoinPool when a is large enough to gain
+     * from it and the pool has more than one thread; otherwise sort(a).
+     */
+    public static void parallelSort(int[] a) {
+        if (a.length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelMergeSort(a);
+        } else {
+            sort(a);
+        }
+    }
+
+    public static void parallelSort(long[] a) {
+        if (a.length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelMergeSort(a);
+        } else {
+            sort(a);
+        }
+    }
+
+    // True if a is strictly descending (reversing it then sorts it)
+    private static boolean descending(int[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i - 1] <= a[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean descending(long[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i - 1] <= a[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static void reverse(long[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /*
+     * Number of positions with a[i - 1] > a[i] (one less than the number of
+     * ascending runs), counting stops past limit. Random input gives up after
+     * about 2 * limit elements.
+     */
+    private static int descents(int[] a, int limit) {
+        int descents = 0;
+        for (int i = 1; i < a.length && descents <= limit; i++) {
+            if (a[i - 1] > a[i]) {
+                descents++;
+            }
+        }
+        return descents;
+    }
+
+    private static int descents(long[] a, int limit) {
+        int descents = 0;
+        for (int i = 1; i < a.length && descents <= limit; i++) {
+            if (a[i - 1] > a[i]) {
+                descents++;
+            }
+        }
+        return descents;
+    }
+
+    /* ============================================================================
+     * NATURAL MERGE SORT
+     * ============================================================================ */
+
+    /**
+     * Merges the runs already present in a, TimSort-style: O(n) on sorted
+     * input, O(n log r) for r runs, O(n log n) at worst.
+     *
+     * Ascending runs are taken as found (strictly descending ones reversed in
+     * place); runs shorter than a minimum of 16-32 are extended by insertion
+     * sort. Runs go on a stack whose lengths grow at least like Fibonacci
+     * numbers, which keeps merges balanced. A merge first skips the prefix of
+     * the left run and the suffix of the right run that are already in place,
+     * then buffers only the shorter of the two remainders, so the buffer never
+     * exceeds n / 2 and a nearly sorted array moves few elements.
+     */
+    public static void naturalMergeSort(int[] a) {
+        if (a.length > 1) {
+            new IntRunMerger(a).sort();
+        }
+    }
+
+    public static void naturalMergeSort(long[] a) {
+        if (a.length > 1) {
+            new LongRunMerger(a).sort();
+        }
+    }
+
+    // TimSort's minimum run length: n itself below MIN_MERGE, else in [16, 32] so n / minRun is close to a power of 2
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= n & 1;
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    private static final class IntRunMerger {
+        private final int[] a;
+        private final int[] runBase = new int[RUN_STACK_SIZE];
+        private final int[] runLength = new int[RUN_STACK_SIZE];
+        private int runs;
+        private int[] buffer = new int[0];
+
+        IntRunMerger(int[] a) {
+            this.a = a;
+        }
+
+        void sort() {
+            int n = a.length;
+            int minRun = minRunLength(n);
+            for (int lo = 0; lo < n; ) {
+                int end = runEnd(lo);
+                if (end - lo < minRun) {
+                    end = Math.min(lo + minRun, n);
+                    insertionSort(a, lo, end);
+                }
+                runBase[runs] = lo;
+                runLength[runs] = end - lo;
+                runs++;
+                collapse();
+                lo = end;
+            }
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && runLength[i - 1] < runLength[i + 1]) {
+                    i--;
+                }
+                mergeAt(i);
+            }
+        }
+
+        // End of the run starting at lo, reversing it first if it is strictly descending
+        private int runEnd(int lo) {
+            int end = lo + 1;
+            if (end == a.length) {
+                return end;
+            }
+            if (a[end++] < a[lo]) {
+                while (end < a.length && a[end] < a[end - 1]) {
+                    end++;
+                }
+                reverse(a, lo, end);
+            } else {
+                while (end < a.length && a[end] >= a[end - 1]) {
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        /*
+         * Merges until, for the top runs X, Y, Z (Z on top), X > Y + Z and Y > Z,
+         * also checking the run below X (the corrected TimSort invariant).
+         */
+        private void collapse() {
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && runLength[i - 1] <= runLength[i] + runLength[i + 1]
+                        || i > 1 && runLength[i - 2] <= runLength[i] + runLength[i - 1]) {
+                    if (runLength[i - 1] < runLength[i + 1]) {
+                        i--;
+                    }
+                } else if (runLength[i] > runLength[i + 1]) {
+                    return;
+                }
+                mergeAt(i);
+            }
+        }
+
+        // Merges stack runs i and i + 1
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+            runLength[i] = length1 + length2;
+            if (i == runs - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            runs--;
+
+            // Left elements not above the right run's first, and right elements not
+            // below the left run's last, are already where they belong
+            int skip = upperBound(a, base1, base1 + length1, a[base2]) - base1;
+            base1 += skip;
+            length1 -= skip;
+            if (length1 == 0) {
+                return;
+            }
+            length2 = lowerBound(a, base2, base2 + length2, a[base1 + length1 - 1]) - base2;
+            if (length2 == 0) {
+                return;
+            }
+
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        }
+
+        // Left run buffered, merged front to back
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            int[] left = buffer(length1);
+            System.arraycopy(a, base1, left, 0, length1);
+            int i = 0;
+            int j = base2;
+            int end2 = base2 + length2;
+            int k = base1;
+            int leftStreak = 0;
+            int rightStreak = 0;
+            while (i < length1 && j < end2) {
+                if (leftStreak < MIN_GALLOP && rightStreak < MIN_GALLOP) {
+                    if (a[j] < left[i]) {
+                        a[k++] = a[j++];
+                        rightStreak++;
+                        leftStreak = 0;
+                    } else {
+                        a[k++] = left[i++];
+                        leftStreak++;
+                        rightStreak = 0;
+                    }
+                } else {
+                    // One side keeps winning: copy whole stretches, found by galloping
+                    leftStreak = gallopForward(left, i, length1, a[j], true) - i;
+                    System.arraycopy(left, i, a, k, leftStreak);
+                    i += leftStreak;
+                    k += leftStreak;
+                    if (i == length1) {
+                        break;
+                    }
+                    rightStreak = gallopForward(a, j, end2, left[i], false) - j;
+                    System.arraycopy(a, j, a, k, rightStreak);
+                    j += rightStreak;
+                    k += rightStreak;
+                }
+            }
+            System.arraycopy(left, i, a, k, length1 - i);
+        }
+
+        // Right run buffered, merged back to front
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            int[] right = buffer(length2);
+            System.arraycopy(a, base2, right, 0, length2);
+            int i = base1 + length1 - 1;
+            int j = length2 - 1;
+            int k = base2 + length2 - 1;
+            int leftStreak = 0;
+            int rightStreak = 0;
+            while (i >= base1 && j >= 0) {
+                if (leftStreak < MIN_GALLOP && rightStreak < MIN_GALLOP) {
+                    if (a[i] > right[j]) {
+                        a[k--] = a[i--];
+                        leftStreak++;
+                        rightStreak = 0;
+                    } else {
+                        a[k--] = right[j--];
+                        rightStreak++;
+                        leftStreak = 0;
+                    }
+                } else {
+                    leftStreak = i + 1 - gallopBackward(a, base1, i + 1, right[j], true);
+                    System.arraycopy(a, i + 1 - leftStreak, a, k + 1 - leftStreak, leftStreak);
+                    i -= leftStreak;
+                    k -= leftStreak;
+                    if (i < base1) {
+                        break;
+                    }
+                    rightStreak = j + 1 - gallopBackward(right, 0, j + 1, a[i], false);
+                    System.arraycopy(right, j + 1 - rightStreak, a, k + 1 - rightStreak, rightStreak);
+                    j -= rightStreak;
+                    k -= rightStreak;
+                }
+            }
+            System.arraycopy(right, 0, a, base1, j + 1);
+        }
+
+        private int[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new int[Math.max(length, Math.min(2 * buffer.length, a.length >>> 1))];
+            }
+            return buffer;
+        }
+    }
+
+    private static final class LongRunMerger {
+        private final long[] a;
+        private final int[] runBase = new int[RUN_STACK_SIZE];
+        private final int[] runLength = new int[RUN_STACK_SIZE];
+        private int runs;
+        private long[] buffer = new long[0];
+
+        LongRunMerger(long[] a) {
+            this.a = a;
+        }
+
+        void sort() {
+            int n = a.length;
+            int minRun = minRunLength(n);
+            for (int lo = 0; lo < n; ) {
+                int end = runEnd(lo);
+                if (end - lo < minRun) {
+                    end = Math.min(lo + minRun, n);
+                    insertionSort(a, lo, end);
+                }
+                runBase[runs] = lo;
+                runLength[runs] = end - lo;
+                runs++;
+                collapse();
+                lo = end;
+            }
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && runLength[i - 1] < runLength[i + 1]) {
+                    i--;
+                }
+                mergeAt(i);
+            }
+        }
+
+        private int runEnd(int lo) {
+            int end = lo + 1;
+            if (end == a.length) {
+                return end;
+            }
+            if (a[end++] < a[lo]) {
+                while (end < a.length && a[end] < a[end - 1]) {
+                    end++;
+                }
+                reverse(a, lo, end);
+            } else {
+                while (end < a.length && a[end] >= a[end - 1]) {
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        private void collapse() {
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && runLength[i - 1] <= runLength[i] + runLength[i + 1]
+                        || i > 1 && runLength[i - 2] <= runLength[i] + runLength[i - 1]) {
+                    if (runLength[i - 1] < runLength[i + 1]) {
+                        i--;
+                    }
+                } else if (runLength[i] > runLength[i + 1]) {
+                    return;
+                }
+                mergeAt(i);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+            runLength[i] = length1 + length2;
+            if (i == runs - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            runs--;
+
+            int skip = upperBound(a, base1, base1 + length1, a[base2]) - base1;
+            base1 += skip;
+            length1 -= skip;
+            if (length1 == 0) {
+                return;
+            }
+            length2 = lowerBound(a, base2, base2 + length2, a[base1 + length1 - 1]) - base2;
+            if (length2 == 0) {
+                return;
+            }
+
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        }
+
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            long[] left = buffer(length1);
+            System.arraycopy(a, base1, left, 0, length1);
+            int i = 0;
+            int j = base2;
+            int end2 = base2 + length2;
+            int k = base1;
+            int leftStreak = 0;
+            int rightStreak = 0;
+            while (i < length1 && j < end2) {
+                if (leftStreak < MIN_GALLOP && rightStreak < MIN_GALLOP) {
+                    if (a[j] < left[i]) {
+                        a[k++] = a[j++];
+                        rightStreak++;
+                        leftStreak = 0;
+                    } else {
+                        a[k++] = left[i++];
+                        leftStreak++;
+                        rightStreak = 0;
+                    }
+                } else {
+                    leftStreak = gallopForward(left, i, length1, a[j], true) - i;
+                    System.arraycopy(left, i, a, k, leftStreak);
+                    i += leftStreak;
+                    k += leftStreak;
+                    if (i == length1) {
+                        break;
+                    }
+                    rightStreak = gallopForward(a, j, end2, left[i], false) - j;
+                    System.arraycopy(a, j, a, k, rightStreak);
+                    j += rightStreak;
+                    k += rightStreak;
+                }
+            }
+            System.arraycopy(left, i, a, k, length1 - i);
+        }
+
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            long[] right = buffer(length2);
+            System.arraycopy(a, base2, right, 0, length2);
+            int i = base1 + length1 - 1;
+            int j = length2 - 1;
+            int k = base2 + length2 - 1;
+            int leftStreak = 0;
+            int rightStreak = 0;
+            while (i >= base1 && j >= 0) {
+                if (leftStreak < MIN_GALLOP && rightStreak < MIN_GALLOP) {
+                    if (a[i] > right[j]) {
+                        a[k--] = a[i--];
+                        leftStreak++;
+                        rightStreak = 0;
+                    } else {
+                        a[k--] = right[j--];
+                        rightStreak++;
+                        leftStreak = 0;
+                    }
+                } else {
+                    leftStreak = i + 1 - gallopBackward(a, base1, i + 1, right[j], true);
+                    System.arraycopy(a, i + 1 - leftStreak, a, k + 1 - leftStreak, leftStreak);
+                    i -= leftStreak;
+                    k -= leftStreak;
+                    if (i < base1) {
+                        break;
+                    }
+                    rightStreak = j + 1 - gallopBackward(right, 0, j + 1, a[i], false);
+                    System.arraycopy(right, j + 1 - rightStreak, a, k + 1 - rightStreak, rightStreak);
+                    j -= rightStreak;
+                    k -= rightStreak;
+                }
+            }
+            System.arraycopy(right, 0, a, base1, j + 1);
+        }
+
+        private long[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new long[Math.max(length, Math.min(2 * buffer.length, a.length >>> 1))];
+            }
+            return buffer;
+        }
+    }
+
+    // Merges src[i, iEnd) and src[j, jEnd) into dst starting at k
+    private static void merge(int[] src, int[] dst, int i, int iEnd, int j, int jEnd, int k) {
+        while (i < iEnd && j < jEnd) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, iEnd - i);
+        System.arraycopy(src, j, dst, k + iEnd - i, jEnd - j);
+    }
+
+    private static void merge(long[] src, long[] dst, int i, int iEnd, int j, int jEnd, int k) {
+        while (i < iEnd && j < jEnd) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, iEnd - i);
+        System.arraycopy(src, j, dst, k + iEnd - i, jEnd - j);
+    }
+
+    /* ============================================================================
+     * INSERTION SORT
+     * ============================================================================ */
+
+    /** Sorts a[from, to). */
+    public static void insertionSort(int[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int x = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    /** Sorts a[from, to). */
+    public static void insertionSort(long[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long x = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    /* ============================================================================
+     * DUAL-PIVOT QUICKSORT
+     * ============================================================================ */
+
+    /** Sorts a[from, to) in place. */
+    public static void dualPivotQuicksort(int[] a, int from, int to) {
+        dualPivot(a, from, to - 1, 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, to - from))));
+    }
+
+    /** Sorts a[from, to) in place. */
+    public static void dualPivotQuicksort(long[] a, int from, int to) {
+        dualPivot(a, from, to - 1, 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, to - from))));
+    }
+
+    /*
+     * Yaroslavskiy partition of a[lo..hi] around p1 <= p2 into
+     * [lo, lt) < p1, [lt, gt] in [p1, p2], (gt, hi] > p2. Recursion always
+     * spends one level of depth, so the stack is bounded by the depth limit.
+     */
+    private static void dualPivot(int[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            // Five samples around the middle, sorted in place; the 2nd and 4th become the pivots
+            int length = hi - lo + 1;
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSample(a, e1, e2, e3, e4, e5);
+
+            swap(a, e2, lo);
+            swap(a, e4, hi);
+            int p1 = a[lo];
+            int p2 = a[hi];
+
+            int lt = lo + 1;
+            int gt = hi - 1;
+            for (int i = lt; i <= gt; i++) {
+                int x = a[i];
+                if (x < p1) {
+                    swap(a, i, lt++);
+                } else if (x > p2) {
+                    while (a[gt] > p2 && i < gt) {
+                        gt--;
+                    }
+                    swap(a, i, gt--);
+                    if (a[i] < p1) {
+                        swap(a, i, lt++);
+                    }
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+
+            dualPivot(a, lo, lt - 1, depth);
+            dualPivot(a, gt + 1, hi, depth);
+            if (p1 == p2) {
+                return;  // the middle part is all equal
+            }
+
+            // A large middle part usually means many pivot duplicates: squeeze them out
+            int l = lt + 1;
+            int g = gt - 1;
+            if (g - l > length / 7 * 4) {
+                while (a[l] == p1) {
+                    l++;
+                }
+                while (a[g] == p2) {
+                    g--;
+                }
+                for (int i = l; i <= g; i++) {
+                    int x = a[i];
+                    if (x == p1) {
+                        swap(a, i, l++);
+                    } else if (x == p2) {
+                        while (a[g] == p2 && i < g) {
+                            g--;
+                        }
+                        swap(a, i, g--);
+                        if (a[i] == p1) {
+                            swap(a, i, l++);
+                        }
+                    }
+                }
+            }
+            lo = l;
+            hi = g;
+        }
+        insertionSort(a, lo, hi + 1);
+    }
+
+    private static void dualPivot(long[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            int length = hi - lo + 1;
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSample(a, e1, e2, e3, e4, e5);
+
+            swap(a, e2, lo);
+            swap(a, e4, hi);
+            long p1 = a[lo];
+            long p2 = a[hi];
+
+            int lt = lo + 1;
+            int gt = hi - 1;
+            for (int i = lt; i <= gt; i++) {
+                long x = a[i];
+                if (x < p1) {
+                    swap(a, i, lt++);
+                } else if (x > p2) {
+                    while (a[gt] > p2 && i < gt) {
+                        gt--;
+                    }
+                    swap(a, i, gt--);
+                    if (a[i] < p1) {
+                        swap(a, i, lt++);
+                    }
+                }
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+
+            dualPivot(a, lo, lt - 1, depth);
+            dualPivot(a, gt + 1, hi, depth);
+            if (p1 == p2) {
+                return;
+            }
+
+            int l = lt + 1;
+            int g = gt - 1;
+            if (g - l > length / 7 * 4) {
+                while (a[l] == p1) {
+                    l++;
+                }
+                while (a[g] == p2) {
+                    g--;
+                }
+                for (int i = l; i <= g; i++) {
+                    long x = a[i];
+                    if (x == p1) {
+                        swap(a, i, l++);
+                    } else if (x == p2) {
+                        while (a[g] == p2 && i < g) {
+                            g--;
+                        }
+                        swap(a, i, g--);
+                        if (a[i] == p1) {
+                            swap(a, i, l++);
+                        }
+                    }
+                }
+            }
+            lo = l;
+            hi = g;
+        }
+        insertionSort(a, lo, hi + 1);
+    }
+
+    // Sorting network for the five sample positions (nine compare-exchanges)
+    private static void sortSample(int[] a, int e1, int e2, int e3, int e4, int e5) {
+        sort2(a, e1, e2);
+        sort2(a, e4, e5);
+        sort2(a, e3, e5);
+        sort2(a, e3, e4);
+        sort2(a, e1, e4);
+        sort2(a, e1, e3);
+        sort2(a, e2, e5);
+        sort2(a, e2, e4);
+        sort2(a, e2, e3);
+    }
+
+    private static void sort2(int[] a, int i, int j) {
+        if (a[i] > a[j]) {
+            swap(a, i, j);
+        }
+    }
+
+    private static void sortSample(long[] a, int e1, int e2, int e3, int e4, int e5) {
+        sort2(a, e1, e2);
+        sort2(a, e4, e5);
+        sort2(a, e3, e5);
+        sort2(a, e3, e4);
+        sort2(a, e1, e4);
+        sort2(a, e1, e3);
+        sort2(a, e2, e5);
+        sort2(a, e2, e4);
+        sort2(a, e2, e3);
+    }
+
+    private static void sort2(long[] a, int i, int j) {
+        if (a[i] > a[j]) {
+            swap(a, i, j);
+        }
+    }
+
+    // Sorts a[lo..hi]; the fallback that keeps the quicksort O(n log n)
+    private static void heapSort(int[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void heapSort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] a, int base, int i, int n) {
+        int x = a[base + i];
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && a[base + child + 1] > a[base + child]) {
+                child++;
+            }
+            if (a[base + child] <= x) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = x;
+    }
+
+    private static void siftDown(long[] a, int base, int i, int n) {
+        long x = a[base + i];
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && a[base + child + 1] > a[base + child]) {
+                child++;
+            }
+            if (a[base + child] <= x) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = x;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /* ============================================================================
+     * LSD RADIX SORT
+     * ============================================================================ */
+
+    /*
+     * One counting pass builds the histograms of all bytes at once; then each
+     * byte that varies is one stable scatter into the other buffer.
+     */
+    public static void radixSort(int[] a) {
+        int n = a.length;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = new int[4 * 256];
+        for (int x : a) {
+            counts[x & 0xFF]++;
+            counts[256 + (x >>> 8 & 0xFF)]++;
+            counts[512 + (x >>> 16 & 0xFF)]++;
+            counts[768 + (x >>> 24 ^ 0x80)]++;
+        }
+
+        int[] src = a;
+        int[] dst = null;
+        for (int digit = 0; digit < 4; digit++) {
+            int base = digit * 256;
+            if (counts[base + digitOf(a[0], digit)] == n) {
+                continue;  // every key has the same byte here
+            }
+            int offset = 0;
+            for (int b = base; b < base + 256; b++) {
+                int c = counts[b];
+                counts[b] = offset;
+                offset += c;
+            }
+            if (dst == null) {
+                dst = new int[n];
+            }
+            int shift = digit * 8;
+            int flip = digit == 3 ? 0x80 : 0;
+            for (int x : src) {
+                dst[counts[base + ((x >>> shift & 0xFF) ^ flip)]++] = x;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    public static void radixSort(long[] a) {
+        int n = a.length;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = new int[8 * 256];
+        for (long x : a) {
+            for (int digit = 0; digit < 8; digit++) {
+                counts[digit * 256 + digitOf(x, digit)]++;
+            }
+        }
+
+        long[] src = a;
+        long[] dst = null;
+        for (int digit = 0; digit < 8; digit++) {
+            int base = digit * 256;
+            if (counts[base + digitOf(a[0], digit)] == n) {
+                continue;
+            }
+            int offset = 0;
+            for (int b = base; b < base + 256; b++) {
+                int c = counts[b];
+                counts[b] = offset;
+                offset += c;
+            }
+            if (dst == null) {
+                dst = new long[n];
+            }
+            int shift = digit * 8;
+            int flip = digit == 7 ? 0x80 : 0;
+            for (long x : src) {
+                dst[counts[base + ((int) (x >>> shift & 0xFF) ^ flip)]++] = x;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    // Byte digit of x, with the sign bit flipped on the top byte so negatives sort first
+    private static int digitOf(int x, int digit) {
+        return (x >>> (digit * 8) & 0xFF) ^ (digit == 3 ? 0x80 : 0);
+    }
+
+    private static int digitOf(long x, int digit) {
+        return (int) (x >>> (digit * 8) & 0xFF) ^ (digit == 7 ? 0x80 : 0);
+    }
+
+    /* ============================================================================
+     * PARALLEL MERGE SORT
+     * ============================================================================ */
+
+    public static void parallelMergeSort(int[] a) {
+        parallelMergeSort(a, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_LEAF);
+    }
+
+    /**
+     * @param threshold ranges (and merges) up to this size run sequentially
+     */
+    public static void parallelMergeSort(int[] a, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        pool.invoke(new IntSortTask(a, new int[a.length], 0, a.length, true, threshold));
+    }
+
+    public static void parallelMergeSort(long[] a) {
+        parallelMergeSort(a, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_LEAF);
+    }
+
+    /**
+     * @param threshold ranges (and merges) up to this size run sequentially
+     */
+    public static void parallelMergeSort(long[] a, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        pool.invoke(new LongSortTask(a, new long[a.length], 0, a.length, true, threshold));
+    }
+
+    /* Sorts a[lo, hi) into a (intoA) or into buffer b; children write into the other one. */
+    private static final class IntSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] b;
+        private final int lo;
+        private final int hi;
+        private final boolean intoA;
+        private final int threshold;
+
+        IntSortTask(int[] a, int[] b, int lo, int hi, boolean intoA, int threshold) {
+            this.a = a;
+            this.b = b;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoA = intoA;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                dualPivotQuicksort(a, lo, hi);
+                if (!intoA) {
+                    System.arraycopy(a, lo, b, lo, hi - lo);
+                }
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new IntSortTask(a, b, lo, mid, !intoA, threshold),
+                      new IntSortTask(a, b, mid, hi, !intoA, threshold));
+            int[] src = intoA ? b : a;
+            int[] dst = intoA ? a : b;
+            new IntMergeTask(src, dst, lo, mid, mid, hi, lo, threshold).compute();
+        }
+    }
+
+    /* Merges src[i, iEnd) and src[j, jEnd) into dst at k, splitting the longer run in the middle. */
+    private static final class IntMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int i;
+        private final int iEnd;
+        private final int j;
+        private final int jEnd;
+        private final int k;
+        private final int threshold;
+
+        IntMergeTask(int[] src, int[] dst, int i, int iEnd, int j, int jEnd, int k, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.i = i;
+            this.iEnd = iEnd;
+            this.j = j;
+            this.jEnd = jEnd;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = iEnd - i;
+            int rightLength = jEnd - j;
+            if (leftLength + rightLength <= Math.max(threshold, 2) || leftLength == 0 || rightLength == 0) {
+                merge(src, dst, i, iEnd, j, jEnd, k);
+                return;
+            }
+
+            int iSplit;
+            int jSplit;
+            if (leftLength >= rightLength) {
+                iSplit = (i + iEnd) >>> 1;
+                jSplit = lowerBound(src, j, jEnd, src[iSplit]);
+            } else {
+                jSplit = (j + jEnd) >>> 1;
+                iSplit = lowerBound(src, i, iEnd, src[jSplit]);
+            }
+            int kSplit = k + (iSplit - i) + (jSplit - j);
+            invokeAll(new IntMergeTask(src, dst, i, iSplit, j, jSplit, k, threshold),
+                      new IntMergeTask(src, dst, iSplit, iEnd, jSplit, jEnd, kSplit, threshold));
+        }
+    }
+
+    private static final class LongSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] a;
+        private final long[] b;
+        private final int lo;
+        private final int hi;
+        private final boolean intoA;
+        private final int threshold;
+
+        LongSortTask(long[] a, long[] b, int lo, int hi, boolean intoA, int threshold) {
+            this.a = a;
+            this.b = b;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoA = intoA;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                dualPivotQuicksort(a, lo, hi);
+                if (!intoA) {
+                    System.arraycopy(a, lo, b, lo, hi - lo);
+                }
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LongSortTask(a, b, lo, mid, !intoA, threshold),
+                      new LongSortTask(a, b, mid, hi, !intoA, threshold));
+            long[] src = intoA ? b : a;
+            long[] dst = intoA ? a : b;
+            new LongMergeTask(src, dst, lo, mid, mid, hi, lo, threshold).compute();
+        }
+    }
+
+    private static final class LongMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] src;
+        private final long[] dst;
+        private final int i;
+        private final int iEnd;
+        private final int j;
+        private final int jEnd;
+        private final int k;
+        private final int threshold;
+
+        LongMergeTask(long[] src, long[] dst, int i, int iEnd, int j, int jEnd, int k, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.i = i;
+            this.iEnd = iEnd;
+            this.j = j;
+            this.jEnd = jEnd;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = iEnd - i;
+            int rightLength = jEnd - j;
+            if (leftLength + rightLength <= Math.max(threshold, 2) || leftLength == 0 || rightLength == 0) {
+                merge(src, dst, i, iEnd, j, jEnd, k);
+                return;
+            }
+
+            int iSplit;
+            int jSplit;
+            if (leftLength >= rightLength) {
+                iSplit = (i + iEnd) >>> 1;
+                jSplit = lowerBound(src, j, jEnd, src[iSplit]);
+            } else {
+                jSplit = (j + jEnd) >>> 1;
+                iSplit = lowerBound(src, i, iEnd, src[jSplit]);
+            }
+            int kSplit = k + (iSplit - i) + (jSplit - j);
+            invokeAll(new LongMergeTask(src, dst, i, iSplit, j, jSplit, k, threshold),
+                      new LongMergeTask(src, dst, iSplit, iEnd, jSplit, jEnd, kSplit, threshold));
+        }
+    }
+
+    // First index in the sorted a[from, to) whose value is at least key
+    private static int lowerBound(int[] a, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static int lowerBound(long[] a, int from, int to, long key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    // First index in the sorted a[from, to) whose value is greater than key
+    private static int upperBound(int[] a, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] <= key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static int upperBound(long[] a, int from, int to, long key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] <= key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /*
+     * upperBound (upper) or lowerBound of key in the sorted a[from, to), probing
+     * from, from + 1, from + 3, from + 7, ... before the binary search: O(log d)
+     * for an answer d past from. gallopBackward probes from to - 1 down instead.
+     */
+    private static int gallopForward(int[] a, int from, int to, int key, boolean upper) {
+        int done = from;
+        int probe = from;
+        for (int step = 1; probe < to && (upper ? a[probe] <= key : a[probe] < key); step <<= 1) {
+            done = probe + 1;
+            probe = to - probe > step ? probe + step : to;
+        }
+        return upper ? upperBound(a, done, probe, key) : lowerBound(a, done, probe, key);
+    }
+
+    private static int gallopBackward(int[] a, int from, int to, int key, boolean upper) {
+        int done = to;
+        int probe = to - 1;
+        for (int step = 1; probe >= from && (upper ? a[probe] > key : a[probe] >= key); step <<= 1) {
+            done = probe;
+            probe = probe - from >= step ? probe - step : from - 1;
+        }
+        return upper ? upperBound(a, probe + 1, done, key) : lowerBound(a, probe + 1, done, key);
+    }
+
+    private static int gallopForward(long[] a, int from, int to, long key, boolean upper) {
+        int done = from;
+        int probe = from;
+        for (int step = 1; probe < to && (upper ? a[probe] <= key : a[probe] < key); step <<= 1) {
+            done = probe + 1;
+            probe = to - probe > step ? probe + step : to;
+        }
+        return upper ? upperBound(a, done, probe, key) : lowerBound(a, done, probe, key);
+    }
+
+    private static int gallopBackward(long[] a, int from, int to, long key, boolean upper) {
+        int done = to;
+        int probe = to - 1;
+        for (int step = 1; probe >= from && (upper ? a[probe] > key : a[probe] >= key); step <<= 1) {
+            done = probe;
+            probe = probe - from >= step ? probe - step : from - 1;
+        }
+        return upper ? upperBound(a, probe + 1, done, key) : lowerBound(a, probe + 1, done, key);
+    }
+
+    /* ============================================================================
+     * TEST CASES
+     * ============================================================================ */
+
+    public static void main(String[] args) {
+        System.out.println("=== SORTING ===\n");
+        int[] example = {5, -3, 9, 0, -3, 7, 2};
+        int[] sortedExample = example.clone();
+        sort(sortedExample);
+        System.out.println("Input: " + Arrays.toString(example));
+        System.out.println("Expected: [-3, -3, 0, 2, 5, 7, 9]");
+        System.out.println("Got: " + Arrays.toString(sortedExample));
+        System.out.println();
+
+        Random random = new Random(20);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        String[] shapes = {"random", "sorted", "reversed", "few unique", "runs", "nearly sorted", "zigzag", "extremes"};
+        for (String shape : shapes) {
+            boolean intMatch = true;
+            boolean longMatch = true;
+            for (int trial = 0; trial < 100; trial++) {
+                int n = trial < 20 ? trial : random.nextInt(trial % 10 == 0 ? 70_000 : 3000);
+                int[] ints = new int[n];
+                long[] longs = new long[n];
+                for (int i = 0; i < n; i++) {
+                    ints[i] = switch (shape) {
+                        case "sorted" -> i;
+                        case "reversed" -> n - i;
+                        case "few unique" -> random.nextInt(4);
+                        case "runs" -> i % (n / 5 + 1);
+                        case "nearly sorted" -> random.nextInt(100) == 0 ? random.nextInt(n) : i;
+                        case "zigzag" -> (i / 50) % 2 == 0 ? i % 50 : 50 - i % 50 + random.nextInt(2);
+                        case "extremes" -> random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(3)
+                                : Integer.MAX_VALUE - random.nextInt(3);
+                        default -> random.nextInt();
+                    };
+                    longs[i] = shape.equals("extremes") ? (ints[i] < 0 ? Long.MIN_VALUE + ints[i] - Integer.MIN_VALUE
+                            : Long.MAX_VALUE - Integer.MAX_VALUE + ints[i])
+                            : shape.equals("random") ? random.nextLong() : ints[i];
+                }
+                int[] expectedInts = ints.clone();
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedInts);
+                Arrays.sort(expectedLongs);
+
+                int[] w1 = ints.clone();
+                int[] w2 = ints.clone();
+                int[] w3 = ints.clone();
+                int[] w4 = ints.clone();
+                int[] w5 = ints.clone();
+                int[] w6 = ints.clone();
+                int[] w7 = ints.clone();
+                sort(w1);
+                parallelSort(w6);
+                naturalMergeSort(w7);
+                dualPivotQuicksort(w2, 0, n);
+                radixSort(w3);
+                parallelMergeSort(w4, pool, 1 + random.nextInt(64));
+                insertionSort(w5, 0, Math.min(n, 500));
+                Arrays.sort(ints, 0, Math.min(n, 500));
+                intMatch &= Arrays.equals(w1, expectedInts) && Arrays.equals(w2, expectedInts)
+                        && Arrays.equals(w4, expectedInts) && Arrays.equals(w5, ints)
+                        && Arrays.equals(w3, expectedInts) && Arrays.equals(w6, expectedInts)
+                        && Arrays.equals(w7, expectedInts);
+
+                long[] v1 = longs.clone();
+                long[] v2 = longs.clone();
+                long[] v3 = longs.clone();
+                long[] v4 = longs.clone();
+                long[] v5 = longs.clone();
+                long[] v6 = longs.clone();
+                sort(v1);
+                parallelSort(v5);
+                naturalMergeSort(v6);
+                dualPivotQuicksort(v2, 0, n);
+                radixSort(v3);
+                parallelMergeSort(v4, pool, 1 + random.nextInt(64));
+                longMatch &= Arrays.equals(v1, expectedLongs) && Arrays.equals(v2, expectedLongs)
+                        && Arrays.equals(v4, expectedLongs)
+                        && Arrays.equals(v3, expectedLongs) && Arrays.equals(v5, expectedLongs)
+                        && Arrays.equals(v6, expectedLongs);
+            }
+            System.out.println("100 " + shape + " arrays: every strategy matches Arrays.sort for int[]: " + intMatch
+                    + ", long[]: " + longMatch);
+        }
+        pool.shutdown();
+
+        int[] large = new int[PARALLEL_THRESHOLD + 12_345];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextInt();
+        }
+        int[] expectedLarge = large.clone();
+        Arrays.sort(expectedLarge);
+        parallelSort(large);
+        System.out.println("\nparallelSort on " + large.length + " ints (common pool parallelism "
+                + ForkJoinPool.getCommonPoolParallelism() + ") matches Arrays.sort: " + Arrays.equals(large, expectedLarge));
+    }
+}
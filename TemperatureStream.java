@@ -0,0 +1,224 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Temperature Stream - next warmer day over an unbounded feed
+ *
+ * Streaming form of DailyTemperatures.dailyTemperatures: readings arrive one
+ * at a time (or in batches) and each day's wait is reported through a
+ * callback as soon as a warmer day arrives:
+ *
+ *   TemperatureStream stream = new TemperatureStream(1 << 16, OverflowPolicy.EVICT_OLDEST,
+ *           (day, waitDays) -> ...);
+ *   stream.accept(reading); ...
+ *   stream.finish();   // days still pending never got warmer: reported as 0
+ *
+ * Days are numbered from 0 in arrival order, as longs, so the stream can run
+ * past 2^31 readings.
+ *
+ * State is the monotonic stack of days still waiting, kept in a ring buffer
+ * of at most pendingLimit entries (a decreasing run of readings makes it grow;
+ * it is the only memory that depends on the input). When a reading would push
+ * it past the limit, the OverflowPolicy decides. The oldest pending day is the
+ * warmest, so it is the one that would wait longest and the one evicted.
+ *
+ * Not thread-safe; feed it from one thread.
+ */
+public final class TemperatureStream {
+
+    @FunctionalInterface
+    public interface ResultListener {
+        /**
+         * @param waitDays days until a warmer reading, or 0 if none came (end of
+         *                 stream or evicted)
+         */
+        void resolved(long day, long waitDays);
+    }
+
+    public enum OverflowPolicy {
+        /** Report the oldest pending day with waitDays 0 and drop it. */
+        EVICT_OLDEST,
+        /** Drop the oldest pending day without reporting it. */
+        DISCARD_OLDEST,
+        /** Throw IllegalStateException before reporting anything; the reading is not accepted. */
+        FAIL
+    }
+
+    private final ResultListener listener;
+    private final OverflowPolicy policy;
+    private final int pendingLimit;
+    private final long[] days;   // ring buffer, bottom at head
+    private final int[] temps;
+    private final int mask;
+    private int head;
+    private int size;
+    private long nextDay;
+    private long evicted;
+
+    public TemperatureStream(int pendingLimit, OverflowPolicy policy, ResultListener listener) {
+        if (pendingLimit < 1 || pendingLimit > 1 << 30) {
+            throw new IllegalArgumentException("pendingLimit must be in [1, 2^30]");
+        }
+        this.pendingLimit = pendingLimit;
+        this.policy = policy;
+        this.listener = listener;
+        int capacity = Integer.highestOneBit(pendingLimit);
+        if (capacity < pendingLimit) {
+            capacity <<= 1;
+        }
+        this.days = new long[capacity];
+        this.temps = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /** Adds the next day's reading, reporting every pending day it is warmer than. */
+    public void accept(int temperature) {
+        // Colder days at the top of the stack are resolved by this reading
+        int top = size;
+        while (top > 0 && temps[(head + top - 1) & mask] < temperature) {
+            top--;
+        }
+        if (top == pendingLimit && policy == OverflowPolicy.FAIL) {
+            throw new IllegalStateException("more than " + pendingLimit + " days pending at day " + nextDay);
+        }
+        for (int i = size - 1; i >= top; i--) {
+            int slot = (head + i) & mask;
+            listener.resolved(days[slot], nextDay - days[slot]);
+        }
+        size = top;
+
+        if (size == pendingLimit) {
+            overflow();
+        }
+        int slot = (head + size) & mask;
+        days[slot] = nextDay++;
+        temps[slot] = temperature;
+        size++;
+    }
+
+    /** Adds readings[from, to) in order. */
+    public void accept(int[] readings, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(readings[i]);
+        }
+    }
+
+    public void accept(int[] readings) {
+        accept(readings, 0, readings.length);
+    }
+
+    private void overflow() {
+        if (policy == OverflowPolicy.EVICT_OLDEST) {
+            listener.resolved(days[head], 0);
+        }
+        head = (head + 1) & mask;
+        size--;
+        evicted++;
+    }
+
+    /** Ends the stream: every day still pending is reported with waitDays 0, oldest first. */
+    public void finish() {
+        for (int i = 0; i < size; i++) {
+            listener.resolved(days[(head + i) & mask], 0);
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /** Days accepted so far. */
+    public long days() {
+        return nextDay;
+    }
+
+    /** Days still waiting for a warmer reading. */
+    public int pending() {
+        return size;
+    }
+
+    /** Days dropped by the overflow policy. */
+    public long evicted() {
+        return evicted;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== TEMPERATURE STREAM ===\n");
+        int[] temps = {73, 74, 75, 71, 69, 72, 76, 73};
+        int[] answer = new int[temps.length];
+        TemperatureStream stream = new TemperatureStream(16, OverflowPolicy.FAIL,
+                (day, waitDays) -> answer[(int) day] = (int) waitDays);
+        for (int t : temps) {
+            stream.accept(t);
+        }
+        System.out.println("Input: " + Arrays.toString(temps) + ", one reading at a time");
+        System.out.println("Pending before finish: " + stream.pending() + " (days 6 and 7)");
+        stream.finish();
+        System.out.println("Expected: [1, 1, 4, 2, 1, 1, 0, 0]");
+        System.out.println("Got:      " + Arrays.toString(answer));
+        System.out.println();
+
+        // Batches of random sizes, no overflow: must match the whole-array version
+        Random random = new Random(22);
+        boolean match = true;
+        for (int trial = 0; trial < 500; trial++) {
+            int n = random.nextInt(2000);
+            int[] series = new int[n];
+            for (int i = 0; i < n; i++) {
+                series[i] = trial % 2 == 0 ? 30 + random.nextInt(71) : n - i;  // odd trials: always colder
+            }
+            int[] got = new int[n];
+            Arrays.fill(got, -1);
+            TemperatureStream s = new TemperatureStream(Math.max(1, n), OverflowPolicy.FAIL,
+                    (day, waitDays) -> got[(int) day] = (int) waitDays);
+            for (int i = 0; i < n; ) {
+                int batch = Math.min(n - i, random.nextInt(50));
+                s.accept(series, i, i + batch);
+                i += batch;
+            }
+            s.finish();
+            match &= Arrays.equals(got, DailyTemperatures.dailyTemperatures(series));
+        }
+        System.out.println("500 random batched streams match dailyTemperatures: " + match);
+
+        // Overflow policies on a strictly falling series with room for 3 pending days
+        int[] falling = {90, 80, 70, 60, 50, 95};
+        StringBuilder evictLog = new StringBuilder();
+        TemperatureStream evicting = new TemperatureStream(3, OverflowPolicy.EVICT_OLDEST,
+                (day, waitDays) -> evictLog.append(" (").append(day).append(',').append(waitDays).append(')'));
+        evicting.accept(falling);
+        System.out.println("\nEVICT_OLDEST, limit 3, " + Arrays.toString(falling));
+        System.out.println("Expected: (0,0) (1,0) (4,1) (3,2) (2,3), evicted 2, pending 1");
+        System.out.println("Got:     " + evictLog + ", evicted " + evicting.evicted()
+                + ", pending " + evicting.pending());
+
+        TemperatureStream failing = new TemperatureStream(3, OverflowPolicy.FAIL, (day, waitDays) -> { });
+        System.out.println("\nFAIL, limit 3, same series");
+        System.out.println("Expected: IllegalStateException at day 3");
+        try {
+            failing.accept(falling);
+            System.out.println("Got: no exception");
+        } catch (IllegalStateException e) {
+            System.out.println("Got: " + e.getMessage());
+        }
+
+        // Throughput: 50M readings through a listener that only counts
+        int n = 50_000_000;
+        int[] feed = new int[1 << 20];
+        for (int i = 0; i < feed.length; i++) {
+            feed[i] = 30 + random.nextInt(71);
+        }
+        long[] resolved = new long[1];
+        TemperatureStream timed = new TemperatureStream(1 << 16, OverflowPolicy.EVICT_OLDEST,
+                (day, waitDays) -> resolved[0] += waitDays);
+        for (int warmup = 0; warmup < 20; warmup++) {
+            timed.accept(feed);
+        }
+        long start = System.nanoTime();
+        long fed = 0;
+        while (fed < n) {
+            timed.accept(feed);
+            fed += feed.length;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nThroughput: %,.0f readings/s single-threaded (%,d readings)%n", fed / seconds, fed);
+    }
+}
@@ -1,3 +1,144 @@
-public class ValidatorService {
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Validator Service
+ *
+ * Reusable plate validation engine behind LincensePlateValidator and
+ * Registration. Rules are the ones documented in README_LicensePlateValidator.md
+ * and implemented by PlateScanner.
+ *
+ * Thread safety: the service holds no mutable state, and every call works only
+ * on its own locals, so one instance can be shared by any number of threads
+ * without locking. The optional PlateMetrics is itself safe for concurrent use.
+ *
+ * APIs:
+ * - single plate:  validate(String), validateCode(CharSequence)
+ * - batch:         validateAll(List), validateAll(String[])
+ * - streaming:     validate(Iterator), validate(Stream) - lazy, one plate at a time
+ */
+public final class ValidatorService {
+    private final PlateMetrics metrics;
+
+    public ValidatorService() {
+        this(null);
+    }
+
+    /**
+     * @param metrics where every validation is recorded, or null for none
+     */
+    public ValidatorService(PlateMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public PlateMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Validates one plate and returns its packed PlateScanner code.
+     * Allocation-free; preferred on hot paths.
+     */
+    public long validateCode(CharSequence plate) {
+        if (metrics == null) {
+            return PlateScanner.scan(plate);
+        }
+        PlateMetrics.Recorder recorder = metrics.recorder();
+        if (!recorder.sampleNext()) {
+            long code = PlateScanner.scan(plate);
+            recorder.record(code);
+            return code;
+        }
+        long start = System.nanoTime();
+        long code = PlateScanner.scan(plate);
+        recorder.record(code, System.nanoTime() - start);
+        return code;
+    }
+
+    public ValidationResult validate(String plate) {
+        return ValidationResult.fromCode(validateCode(plate));
+    }
+
+    public List<ValidationResult> validateAll(List<String> plates) {
+        List<ValidationResult> results = new ArrayList<>(plates.size());
+        for (String plate : plates) {
+            results.add(validate(plate));
+        }
+        return results;
+    }
+
+    public ValidationResult[] validateAll(String[] plates) {
+        ValidationResult[] results = new ValidationResult[plates.length];
+        for (int i = 0; i < plates.length; i++) {
+            results[i] = validate(plates[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Lazily validates plates as the returned iterator is consumed.
+     */
+    public Iterator<ValidationResult> validate(Iterator<String> plates) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return plates.hasNext();
+            }
+
+            @Override
+            public ValidationResult next() {
+                return validate(plates.next());
+            }
+        };
+    }
+
+    /**
+     * Lazily validates a stream of plates. Safe on parallel streams.
+     */
+    public Stream<ValidationResult> validate(Stream<String> plates) {
+        return plates.map(this::validate);
+    }
+
+    /**
+     * String form of a validation: formatted plate when valid, otherwise the
+     * violation messages in reporting order.
+     */
+    public static class ValidationResult {
+        boolean isValid = false;
+        String formatted = "";
+        List<String> violations = new ArrayList<>();
+
+        public boolean isValid() {
+            return isValid;
+        }
+
+        public String formatted() {
+            return formatted;
+        }
+
+        public List<String> violations() {
+            return violations;
+        }
+
+        /**
+         * Builds the string form of a PlateScanner plate code.
+         */
+        public static ValidationResult fromCode(long code) {
+            ValidationResult result = new ValidationResult();
+            if (PlateScanner.isValid(code)) {
+                result.isValid = true;
+                result.formatted = PlateScanner.format(code);
+            } else {
+                int violations = PlateScanner.violations(code);
+                for (int i = 0; i < PlateScanner.VIOLATION_COUNT; i++) {
+                    if ((violations & (1 << i)) != 0) {
+                        result.violations.add(PlateScanner.violationMessage(i));
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,303 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Workloads - the operations measured by the dsa.jmh benchmarks
+ *
+ * JMH only accepts benchmark classes in a named package, and code in a named
+ * package cannot refer to the algorithm classes, which are in the default
+ * package. This class sits in the default package with them: one public static
+ * method per measured operation, with only JDK types in its signatures
+ * (Object for the algorithm's own result and helper types), so the benchmarks
+ * can bind each one as a static final MethodHandle (see dsa.jmh.Flat).
+ *
+ * Every method is exactly the work being timed; inputs are prepared by the
+ * benchmark's @Setup methods.
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    /* ============================================================================
+     * Merge
+     * ============================================================================ */
+
+    public static Object countSmaller(int[] nums) {
+        return new Merge().countSmaller(nums);
+    }
+
+    public static Object countSmallerPrimitive(int[] nums) {
+        return new Merge().countSmallerPrimitive(nums);
+    }
+
+    public static Object countSmallerParallel(int[] nums) {
+        return new Merge().countSmallerParallel(nums);
+    }
+
+    public static Object countSmallerFenwick(int[] nums) {
+        return new Merge().countSmallerFenwick(nums);
+    }
+
+    public static Object countInversions(int[] nums) {
+        return new Merge().countInversions(nums);
+    }
+
+    public static Object inversionTrackerAppend(int[] nums) {
+        Merge.InversionTracker tracker = new Merge.InversionTracker();
+        for (int value : nums) {
+            tracker.append(value);
+        }
+        return tracker.inversions();
+    }
+
+    public static Object onlineCounterAppend(int[] nums) {
+        Merge.OnlineCounter counter = new Merge.OnlineCounter();
+        for (int value : nums) {
+            counter.append(value);
+        }
+        return counter;
+    }
+
+    /* ============================================================================
+     * QuickSortPartition (methods taking work permute it; callers restore it)
+     * ============================================================================ */
+
+    public static Object minSubarraySumDifference(int[] work) {
+        return new QuickSortPartition().minSubarraySumDifference(work, work.length / 2 + 1);
+    }
+
+    public static Object minSubarraySumDifferenceTwoPass(int[] work) {
+        return new QuickSortPartition().minSubarraySumDifferenceTwoPass(work, work.length / 2 + 1);
+    }
+
+    public static Object quickSelect(int[] work) {
+        return new QuickSortPartition().quickSelect(work, work.length / 2);
+    }
+
+    public static Object introSelect(int[] work) {
+        return new QuickSortPartition().introSelect(work, work.length / 2);
+    }
+
+    public static Object parallelSelect(int[] nums) {
+        return new QuickSortPartition().parallelSelect(nums, nums.length / 2);
+    }
+
+    public static Object multiSelect(int[] work, int[] ks) {
+        return new QuickSortPartition().multiSelect(work, ks);
+    }
+
+    public static Object repeatedIntroSelect(int[] work, int[] ks) {
+        QuickSortPartition solver = new QuickSortPartition();
+        int[] values = new int[ks.length];
+        for (int i = 0; i < ks.length; i++) {
+            values[i] = solver.introSelect(work, ks[i]);
+        }
+        return values;
+    }
+
+    public static Object topK(int[] nums, int k) {
+        return new QuickSortPartition().topK(nums, k);
+    }
+
+    /* ============================================================================
+     * Sorting (in place; callers restore the input)
+     * ============================================================================ */
+
+    public static Object sort(int[] work) {
+        Sorting.sort(work);
+        return work;
+    }
+
+    public static Object dualPivotQuicksort(int[] work) {
+        Sorting.dualPivotQuicksort(work, 0, work.length);
+        return work;
+    }
+
+    public static Object radixSort(int[] work) {
+        Sorting.radixSort(work);
+        return work;
+    }
+
+    public static Object naturalMergeSort(int[] work) {
+        Sorting.naturalMergeSort(work);
+        return work;
+    }
+
+    public static Object parallelMergeSort(int[] work) {
+        Sorting.parallelMergeSort(work);
+        return work;
+    }
+
+    public static Object parallelSort(int[] work) {
+        Sorting.parallelSort(work);
+        return work;
+    }
+
+    public static Object insertionSort(int[] work) {
+        Sorting.insertionSort(work, 0, work.length);
+        return work;
+    }
+
+    public static Object sort(long[] work) {
+        Sorting.sort(work);
+        return work;
+    }
+
+    public static Object radixSort(long[] work) {
+        Sorting.radixSort(work);
+        return work;
+    }
+
+    public static Object naturalMergeSort(long[] work) {
+        Sorting.naturalMergeSort(work);
+        return work;
+    }
+
+    /* ============================================================================
+     * BubbleSort
+     * ============================================================================ */
+
+    public static Object minimumArrayLengthSimulation(int[] nums) {
+        return BubbleSort.minimumArrayLength_Simulation(nums);
+    }
+
+    public static Object minimumArrayLengthOptimized(int[] nums) {
+        return BubbleSort.minimumArrayLength_Optimized(nums);
+    }
+
+    public static Object minimumArrayLengthMathematical(int[] nums) {
+        return BubbleSort.minimumArrayLength_Mathematical(nums);
+    }
+
+    /* ============================================================================
+     * DailyTemperatures, TemperatureStream, MonotonicStack
+     * ============================================================================ */
+
+    public static Object dailyTemperatures(int[] nums) {
+        return DailyTemperatures.dailyTemperatures(nums);
+    }
+
+    public static Object dailyTemperaturesIntStack(int[] nums) {
+        return DailyTemperatures.dailyTemperaturesIntStack(nums);
+    }
+
+    public static Object dailyTemperaturesBackward(int[] nums) {
+        return DailyTemperatures.dailyTemperaturesBackward(nums);
+    }
+
+    public static Object dailyTemperaturesParallel(int[] nums) {
+        return DailyTemperatures.dailyTemperaturesParallel(nums);
+    }
+
+    public static Object temperatureStream(int[] nums) {
+        long[] waited = new long[1];
+        TemperatureStream stream = new TemperatureStream(1 << 16, TemperatureStream.OverflowPolicy.EVICT_OLDEST,
+                (day, waitDays) -> waited[0] += waitDays);
+        stream.accept(nums);
+        stream.finish();
+        return waited[0];
+    }
+
+    public static Object bounds(int[] nums) {
+        return MonotonicStack.bounds(nums, MonotonicStack.Relation.GREATER);
+    }
+
+    public static Object nextAndPrevious(int[] nums) {
+        return new int[][]{
+                MonotonicStack.next(nums, MonotonicStack.Relation.GREATER),
+                MonotonicStack.previous(nums, MonotonicStack.Relation.GREATER_OR_EQUAL)};
+    }
+
+    // Previous greater is next greater on the reversed array
+    public static Object dailyTemperaturesTwice(int[] nums, int[] reversed) {
+        return new int[][]{
+                DailyTemperatures.dailyTemperatures(nums),
+                DailyTemperatures.dailyTemperatures(reversed)};
+    }
+
+    public static Object bounds(long[] nums) {
+        return MonotonicStack.bounds(nums, MonotonicStack.Relation.GREATER);
+    }
+
+    public static Object bounds(double[] nums) {
+        return MonotonicStack.bounds(nums, MonotonicStack.Relation.GREATER);
+    }
+
+    public static Object sumOfSubarrayMinimums(int[] nums) {
+        return MonotonicStack.sumOfSubarrayMinimums(nums);
+    }
+
+    /* ============================================================================
+     * RottingOranges, MaximumSubArray, RotateArray, BackTracker
+     * ============================================================================ */
+
+    public static Object orangesRotting(int[][] work) {
+        return RottingOranges.orangesRotting(work);
+    }
+
+    public static Object orangesRottingFlat(int[][] grid) {
+        return RottingOranges.orangesRottingFlat(grid);
+    }
+
+    public static Object orangesRottingFlat(byte[] cells, int rows, int cols) {
+        return RottingOranges.orangesRottingFlat(cells, rows, cols);
+    }
+
+    public static Object maxSubArray(int[] nums) {
+        return new MaximumSubArray().maxSubArray(nums);
+    }
+
+    public static Object rotateArray(int[] work, int k) {
+        new RotateArray().rotateArray(work, k);
+        return work;
+    }
+
+    public static Object generateParenthesis(int n) {
+        return new BackTracker().generateParenthesis(n);
+    }
+
+    /* ============================================================================
+     * License plates
+     * ============================================================================ */
+
+    public static Object samplePlates(int count, long seed) {
+        return PlateBenchmark.samplePlates(count, seed);
+    }
+
+    public static Object zipfianPlates(int count, int distinct, double skew, long seed) {
+        return PlateBenchmark.zipfianPlates(count, distinct, skew, seed);
+    }
+
+    public static Object plateInput(int plates, long seed) {
+        return PlateBenchmark.generateInput(plates, seed);
+    }
+
+    public static Object validatorService() {
+        return new ValidatorService();
+    }
+
+    public static Object validatePlate(String[] plates) {
+        int valid = 0;
+        for (String plate : plates) {
+            if (LincensePlateValidator.validatePlate(plate).isValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    public static Object validatePlateWithRegex(String[] plates) {
+        return PlateBenchmark.validateAllWithRegex(plates);
+    }
+
+    public static Object validateCode(Object service, String[] plates) {
+        return PlateBenchmark.validateCodes((ValidatorService) service, plates);
+    }
+
+    public static Object runBatch(byte[] input, ByteArrayOutputStream out, Object service) throws Exception {
+        out.reset();
+        LincensePlateValidator.runBatch(new ByteArrayInputStream(input), out, (ValidatorService) service);
+        return out;
+    }
+}
@@ -0,0 +1,33 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Output grows with the Catalan number C(pairs). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BackTrackerBenchmark {
+    private static final MethodHandle GENERATE_PARENTHESIS = Flat.workload("generateParenthesis", int.class);
+
+    @Param({"8", "10", "12"})
+    int pairs;
+
+    @Benchmark
+    public Object generateParenthesis() throws Throwable {
+        return (Object) GENERATE_PARENTHESIS.invokeExact(pairs);
+    }
+}
@@ -0,0 +1,56 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** BubbleSort.minimumArrayLength_*; Simulation and Optimized are quadratic, hence the smaller sizes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BubbleSortBenchmark {
+    private static final MethodHandle SIMULATION = Flat.workload("minimumArrayLengthSimulation", int[].class);
+    private static final MethodHandle OPTIMIZED = Flat.workload("minimumArrayLengthOptimized", int[].class);
+    private static final MethodHandle MATHEMATICAL = Flat.workload("minimumArrayLengthMathematical", int[].class);
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+    }
+
+    @Benchmark
+    public Object minimumArrayLengthSimulation() throws Throwable {
+        return (Object) SIMULATION.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object minimumArrayLengthOptimized() throws Throwable {
+        return (Object) OPTIMIZED.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object minimumArrayLengthMathematical() throws Throwable {
+        return (Object) MATHEMATICAL.invokeExact(nums);
+    }
+}
@@ -0,0 +1,74 @@
+package dsa.jmh;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Pools of pre-built input copies for workloads that mutate their input.
+ *
+ * A Level.Invocation setup costs about as much as a small workload and
+ * disturbs its timing, so mutating benchmarks run as SingleShotTime batches
+ * of BATCH invocations instead (with @OperationsPerInvocation(BATCH), so
+ * scores stay per call): the pool is refilled once per iteration, outside
+ * the timed region, and each invocation of the batch takes the next
+ * untouched copy. The copies are not in cache when taken, as the input of a
+ * real call usually is not. Each batch is one timed sample, so warmup needs
+ * many more iterations than the time-based benchmarks.
+ */
+final class Copies {
+    static final int BATCH = 100;
+
+    private Copies() {
+    }
+
+    /** One copy per invocation of the largest batch (warmup or measurement). */
+    static int poolSize(BenchmarkParams params) {
+        return Math.max(params.getWarmup().getBatchSize(), params.getMeasurement().getBatchSize());
+    }
+
+    static int[][] refill(int[][] pool, int[] source, int count) {
+        if (pool == null || pool.length != count) {
+            pool = new int[count][];
+            for (int i = 0; i < count; i++) {
+                pool[i] = source.clone();
+            }
+        } else {
+            for (int[] copy : pool) {
+                System.arraycopy(source, 0, copy, 0, source.length);
+            }
+        }
+        return pool;
+    }
+
+    static long[][] refill(long[][] pool, long[] source, int count) {
+        if (pool == null || pool.length != count) {
+            pool = new long[count][];
+            for (int i = 0; i < count; i++) {
+                pool[i] = source.clone();
+            }
+        } else {
+            for (long[] copy : pool) {
+                System.arraycopy(source, 0, copy, 0, source.length);
+            }
+        }
+        return pool;
+    }
+
+    static int[][][] refill(int[][][] pool, int[][] source, int count) {
+        if (pool == null || pool.length != count) {
+            pool = new int[count][][];
+            for (int i = 0; i < count; i++) {
+                pool[i] = new int[source.length][];
+                for (int r = 0; r < source.length; r++) {
+                    pool[i][r] = source[r].clone();
+                }
+            }
+        } else {
+            for (int[][] copy : pool) {
+                for (int r = 0; r < source.length; r++) {
+                    System.arraycopy(source[r], 0, copy[r], 0, source[r].length);
+                }
+            }
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,68 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** DailyTemperatures variants and TemperatureStream fed the same series. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyTemperaturesBenchmark {
+    private static final MethodHandle DAILY_TEMPERATURES = Flat.workload("dailyTemperatures", int[].class);
+    private static final MethodHandle INT_STACK = Flat.workload("dailyTemperaturesIntStack", int[].class);
+    private static final MethodHandle BACKWARD = Flat.workload("dailyTemperaturesBackward", int[].class);
+    private static final MethodHandle PARALLEL = Flat.workload("dailyTemperaturesParallel", int[].class);
+    private static final MethodHandle STREAM = Flat.workload("temperatureStream", int[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+    }
+
+    @Benchmark
+    public Object dailyTemperatures() throws Throwable {
+        return (Object) DAILY_TEMPERATURES.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object dailyTemperaturesIntStack() throws Throwable {
+        return (Object) INT_STACK.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object dailyTemperaturesBackward() throws Throwable {
+        return (Object) BACKWARD.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object dailyTemperaturesParallel() throws Throwable {
+        return (Object) PARALLEL.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object temperatureStream() throws Throwable {
+        return (Object) STREAM.invokeExact(nums);
+    }
+}
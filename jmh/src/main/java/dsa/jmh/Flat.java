@@ -0,0 +1,59 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Handles on the default-package Workloads class.
+ *
+ * Benchmarks keep each handle in a static final field and call it with
+ * invokeExact; the JIT treats such a handle as a constant and inlines through
+ * it, so the measured call is as direct as a static call would be.
+ */
+final class Flat {
+    private static final Class<?> WORKLOADS;
+
+    static {
+        try {
+            WORKLOADS = Class.forName("Workloads");
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Flat() {
+    }
+
+    /** Workloads.name(parameterTypes), returning Object. */
+    static MethodHandle workload(String name, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.publicLookup().findStatic(WORKLOADS, name,
+                    MethodType.methodType(Object.class, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Workloads." + name + " not found", e);
+        }
+    }
+
+    /** Calls a setup-time workload (input generation), unwrapping its checked exceptions. */
+    static Object call(String name, Object... args) {
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = unboxed(args[i].getClass());
+        }
+        try {
+            return workload(name, types).invokeWithArguments(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static Class<?> unboxed(Class<?> type) {
+        if (type == Integer.class) return int.class;
+        if (type == Long.class) return long.class;
+        if (type == Double.class) return double.class;
+        return type;
+    }
+}
@@ -0,0 +1,102 @@
+package dsa.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark inputs, generated from a fixed seed so every fork and every run
+ * measures the same data.
+ */
+final class Inputs {
+    static final long SEED = 42;
+
+    private Inputs() {
+    }
+
+    /**
+     * random: uniform in [0, 10^6); sorted; reversed; nearlySorted: sorted with
+     * size/100 random swaps; fewUnique: 16 distinct values; allEqual.
+     */
+    static int[] intArray(int size, String distribution) {
+        Random random = new Random(SEED);
+        int[] nums = new int[size];
+        switch (distribution) {
+            case "random" -> {
+                for (int i = 0; i < size; i++) nums[i] = random.nextInt(1_000_000);
+            }
+            case "sorted" -> {
+                for (int i = 0; i < size; i++) nums[i] = i;
+            }
+            case "reversed" -> {
+                for (int i = 0; i < size; i++) nums[i] = size - i;
+            }
+            case "nearlySorted" -> {
+                for (int i = 0; i < size; i++) nums[i] = i;
+                for (int s = 0; s < size / 100; s++) {
+                    int a = random.nextInt(size);
+                    int b = random.nextInt(size);
+                    int t = nums[a];
+                    nums[a] = nums[b];
+                    nums[b] = t;
+                }
+            }
+            case "fewUnique" -> {
+                for (int i = 0; i < size; i++) nums[i] = random.nextInt(16);
+            }
+            case "allEqual" -> Arrays.fill(nums, 7);
+            default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return nums;
+    }
+
+    /** (value << 32 | index) pairs, the way Merge and BubbleSort sort them. */
+    static long[] packedPairs(int[] nums) {
+        long[] pairs = new long[nums.length];
+        for (int i = 0; i < nums.length; i++) {
+            pairs[i] = (long) nums[i] << 32 | i;
+        }
+        return pairs;
+    }
+
+    /** 0-based ranks of the p50, p90, p99 and p99.9 values of n elements. */
+    static int[] percentileRanks(int n) {
+        double[] percentiles = {0.5, 0.9, 0.99, 0.999};
+        int[] ranks = new int[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            ranks[i] = Math.min(n - 1, (int) (percentiles[i] * n));
+        }
+        return ranks;
+    }
+
+    /**
+     * Square grid with about size cells. scattered: 70% fresh, 5% rotten, rest
+     * empty; singleSource: all fresh except one rotten corner, which gives the
+     * longest BFS.
+     */
+    static int[][] orangeGrid(int size, String distribution) {
+        int side = Math.max(1, (int) Math.sqrt(size));
+        int[][] grid = new int[side][side];
+        Random random = new Random(SEED);
+        for (int[] row : grid) {
+            for (int c = 0; c < side; c++) {
+                if (distribution.equals("singleSource")) {
+                    row[c] = 1;
+                } else {
+                    int roll = random.nextInt(100);
+                    row[c] = roll < 70 ? 1 : roll < 75 ? 2 : 0;
+                }
+            }
+        }
+        if (distribution.equals("singleSource")) {
+            grid[0][0] = 2;
+        }
+        return grid;
+    }
+
+    /** random: distinct generated plates; zipfian: size/10 distinct plates with 1/rank popularity. */
+    static String[] plates(int size, String distribution) {
+        return (String[]) (distribution.equals("zipfian")
+                ? Flat.call("zipfianPlates", size, Math.max(1, size / 10), 1.0, SEED)
+                : Flat.call("samplePlates", size, SEED));
+    }
+}
@@ -0,0 +1,44 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** MaximumSubArray.maxSubArray over the whole array. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaximumSubArrayBenchmark {
+    private static final MethodHandle MAX_SUB_ARRAY = Flat.workload("maxSubArray", int[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+    }
+
+    @Benchmark
+    public Object maxSubArray() throws Throwable {
+        return (Object) MAX_SUB_ARRAY.invokeExact(nums);
+    }
+}
@@ -0,0 +1,80 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Merge: countSmaller engines, inversion counting and the incremental counters. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MergeBenchmark {
+    private static final MethodHandle COUNT_SMALLER = Flat.workload("countSmaller", int[].class);
+    private static final MethodHandle COUNT_SMALLER_PRIMITIVE = Flat.workload("countSmallerPrimitive", int[].class);
+    private static final MethodHandle COUNT_SMALLER_PARALLEL = Flat.workload("countSmallerParallel", int[].class);
+    private static final MethodHandle COUNT_SMALLER_FENWICK = Flat.workload("countSmallerFenwick", int[].class);
+    private static final MethodHandle COUNT_INVERSIONS = Flat.workload("countInversions", int[].class);
+    private static final MethodHandle INVERSION_TRACKER = Flat.workload("inversionTrackerAppend", int[].class);
+    private static final MethodHandle ONLINE_COUNTER = Flat.workload("onlineCounterAppend", int[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+    }
+
+    @Benchmark
+    public Object countSmaller() throws Throwable {
+        return (Object) COUNT_SMALLER.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object countSmallerPrimitive() throws Throwable {
+        return (Object) COUNT_SMALLER_PRIMITIVE.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object countSmallerParallel() throws Throwable {
+        return (Object) COUNT_SMALLER_PARALLEL.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object countSmallerFenwick() throws Throwable {
+        return (Object) COUNT_SMALLER_FENWICK.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object countInversions() throws Throwable {
+        return (Object) COUNT_INVERSIONS.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object inversionTrackerAppend() throws Throwable {
+        return (Object) INVERSION_TRACKER.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object onlineCounterAppend() throws Throwable {
+        return (Object) ONLINE_COUNTER.invokeExact(nums);
+    }
+}
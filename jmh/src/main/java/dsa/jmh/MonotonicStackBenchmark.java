@@ -0,0 +1,89 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Next and previous greater for every index: one bounds sweep vs next and
+ * previous separately vs DailyTemperatures run on the array and its reverse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonotonicStackBenchmark {
+    private static final MethodHandle BOUNDS = Flat.workload("bounds", int[].class);
+    private static final MethodHandle NEXT_AND_PREVIOUS = Flat.workload("nextAndPrevious", int[].class);
+    private static final MethodHandle DAILY_TEMPERATURES_TWICE =
+            Flat.workload("dailyTemperaturesTwice", int[].class, int[].class);
+    private static final MethodHandle BOUNDS_LONGS = Flat.workload("bounds", long[].class);
+    private static final MethodHandle BOUNDS_DOUBLES = Flat.workload("bounds", double[].class);
+    private static final MethodHandle SUM_OF_SUBARRAY_MINIMUMS = Flat.workload("sumOfSubarrayMinimums", int[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+    int[] reversed;
+    long[] longs;
+    double[] doubles;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+        reversed = new int[size];
+        longs = new long[size];
+        doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = nums[size - 1 - i];
+            longs[i] = nums[i];
+            doubles[i] = nums[i];
+        }
+    }
+
+    @Benchmark
+    public Object bounds() throws Throwable {
+        return (Object) BOUNDS.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object nextAndPrevious() throws Throwable {
+        return (Object) NEXT_AND_PREVIOUS.invokeExact(nums);
+    }
+
+    @Benchmark
+    public Object dailyTemperaturesTwice() throws Throwable {
+        return (Object) DAILY_TEMPERATURES_TWICE.invokeExact(nums, reversed);
+    }
+
+    @Benchmark
+    public Object boundsLongs() throws Throwable {
+        return (Object) BOUNDS_LONGS.invokeExact(longs);
+    }
+
+    @Benchmark
+    public Object boundsDoubles() throws Throwable {
+        return (Object) BOUNDS_DOUBLES.invokeExact(doubles);
+    }
+
+    @Benchmark
+    public Object sumOfSubarrayMinimums() throws Throwable {
+        return (Object) SUM_OF_SUBARRAY_MINIMUMS.invokeExact(nums);
+    }
+}
@@ -0,0 +1,47 @@
+package dsa.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** LincensePlateValidator --batch end to end: case-based input bytes in, report bytes out. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlateBatchBenchmark {
+    private static final MethodHandle RUN_BATCH =
+            Flat.workload("runBatch", byte[].class, ByteArrayOutputStream.class, Object.class);
+
+    @Param({"1000", "100000"})
+    int plates;
+
+    byte[] input;
+    ByteArrayOutputStream out;
+    Object service;
+
+    @Setup
+    public void setUp() {
+        input = (byte[]) Flat.call("plateInput", plates, Inputs.SEED);
+        out = new ByteArrayOutputStream(input.length * 5);
+        service = Flat.call("validatorService");
+    }
+
+    @Benchmark
+    public Object runBatch() throws Throwable {
+        return (Object) RUN_BATCH.invokeExact(input, out, service);
+    }
+}
@@ -0,0 +1,61 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * License plate validation over size plates (one operation validates them
+ * all). zipfian draws from size/10 distinct plates with 1/rank popularity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlateValidationBenchmark {
+    private static final MethodHandle VALIDATE_PLATE = Flat.workload("validatePlate", String[].class);
+    private static final MethodHandle VALIDATE_PLATE_WITH_REGEX = Flat.workload("validatePlateWithRegex", String[].class);
+    private static final MethodHandle VALIDATE_CODE = Flat.workload("validateCode", Object.class, String[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "zipfian"})
+    String distribution;
+
+    String[] plates;
+    Object service;
+
+    @Setup
+    public void setUp() {
+        plates = Inputs.plates(size, distribution);
+        service = Flat.call("validatorService");
+    }
+
+    @Benchmark
+    public Object validatePlate() throws Throwable {
+        return (Object) VALIDATE_PLATE.invokeExact(plates);
+    }
+
+    @Benchmark
+    public Object validatePlateWithRegex() throws Throwable {
+        return (Object) VALIDATE_PLATE_WITH_REGEX.invokeExact(plates);
+    }
+
+    @Benchmark
+    public Object validatorServiceValidateCode() throws Throwable {
+        return (Object) VALIDATE_CODE.invokeExact(service, plates);
+    }
+}
@@ -0,0 +1,76 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Algorithms that are quadratic on some distributions, on sizes where they
+ * still finish: QuickSortPartition.quickSelect (Lomuto, last element as pivot,
+ * so sorted and duplicate-heavy input recurse n deep; hence the large stack)
+ * and Sorting.insertionSort. Both take a pre-built copy (see Copies); calls
+ * are long enough that fewer batches warm them up.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = Copies.BATCH)
+@Measurement(iterations = 10, batchSize = Copies.BATCH)
+@OperationsPerInvocation(Copies.BATCH)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+@State(Scope.Benchmark)
+public class QuadraticBenchmark {
+    private static final MethodHandle QUICK_SELECT = Flat.workload("quickSelect", int[].class);
+    private static final MethodHandle INSERTION_SORT = Flat.workload("insertionSort", int[].class);
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+    }
+
+    @State(Scope.Thread)
+    public static class Work {
+        int[][] pool;
+        int taken;
+
+        @Setup(Level.Iteration)
+        public void restore(QuadraticBenchmark input, BenchmarkParams params) {
+            pool = Copies.refill(pool, input.nums, Copies.poolSize(params));
+            taken = 0;
+        }
+
+        int[] take() {
+            return pool[taken++];
+        }
+    }
+
+    @Benchmark
+    public Object quickSelect(Work w) throws Throwable {
+        return (Object) QUICK_SELECT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object insertionSort(Work w) throws Throwable {
+        return (Object) INSERTION_SORT.invokeExact(w.take());
+    }
+}
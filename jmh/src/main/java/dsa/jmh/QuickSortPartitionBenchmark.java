@@ -0,0 +1,131 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * QuickSortPartition: selection and minSubarraySumDifference. Methods that
+ * permute their input take a pre-built Work copy (see Copies); the others
+ * run in the same single-shot batches so all scores compare. The quadratic
+ * quickSelect is in QuadraticBenchmark.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = Copies.BATCH)
+@Measurement(iterations = 20, batchSize = Copies.BATCH)
+@OperationsPerInvocation(Copies.BATCH)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuickSortPartitionBenchmark {
+    private static final MethodHandle MIN_SUBARRAY_SUM_DIFFERENCE =
+            Flat.workload("minSubarraySumDifference", int[].class);
+    private static final MethodHandle MIN_SUBARRAY_SUM_DIFFERENCE_TWO_PASS =
+            Flat.workload("minSubarraySumDifferenceTwoPass", int[].class);
+    private static final MethodHandle INTRO_SELECT = Flat.workload("introSelect", int[].class);
+    private static final MethodHandle PARALLEL_SELECT = Flat.workload("parallelSelect", int[].class);
+    private static final MethodHandle MULTI_SELECT = Flat.workload("multiSelect", int[].class, int[].class);
+    private static final MethodHandle REPEATED_INTRO_SELECT =
+            Flat.workload("repeatedIntroSelect", int[].class, int[].class);
+    private static final MethodHandle TOP_K = Flat.workload("topK", int[].class, int.class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+    int[] ks;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+        ks = Inputs.percentileRanks(size);
+    }
+
+    @State(Scope.Thread)
+    public static class Work {
+        int[][] pool;
+        int taken;
+
+        @Setup(Level.Iteration)
+        public void restore(QuickSortPartitionBenchmark input, BenchmarkParams params) {
+            pool = Copies.refill(pool, input.nums, Copies.poolSize(params));
+            taken = 0;
+        }
+
+        int[] take() {
+            return pool[taken++];
+        }
+    }
+
+    @Benchmark
+    public Object minSubarraySumDifference(Work w) throws Throwable {
+        return (Object) MIN_SUBARRAY_SUM_DIFFERENCE.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object minSubarraySumDifferenceTwoPass(Work w) throws Throwable {
+        return (Object) MIN_SUBARRAY_SUM_DIFFERENCE_TWO_PASS.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object introSelect(Work w) throws Throwable {
+        return (Object) INTRO_SELECT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object parallelSelect() throws Throwable {
+        return (Object) PARALLEL_SELECT.invokeExact(nums);
+    }
+
+    // p50, p90, p99 and p99.9 of the same array: one multiSelect vs four introSelects vs a full sort
+
+    @Benchmark
+    public Object multiSelect(Work w) throws Throwable {
+        return (Object) MULTI_SELECT.invokeExact(w.take(), ks);
+    }
+
+    @Benchmark
+    public Object multiSelectRepeatedIntroSelect(Work w) throws Throwable {
+        return (Object) REPEATED_INTRO_SELECT.invokeExact(w.take(), ks);
+    }
+
+    @Benchmark
+    public int[] multiSelectArraysSort(Work w) {
+        int[] work = w.take();
+        Arrays.sort(work);
+        int[] values = new int[ks.length];
+        for (int i = 0; i < ks.length; i++) {
+            values[i] = work[ks[i]];
+        }
+        return values;
+    }
+
+    @Benchmark
+    public Object topK() throws Throwable {
+        return (Object) TOP_K.invokeExact(nums, Math.max(1, size / 100));
+    }
+
+    @Benchmark
+    public int[] topKArraysSort() {
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+        return Arrays.copyOfRange(sorted, sorted.length - Math.max(1, size / 100), sorted.length);
+    }
+}
@@ -0,0 +1,90 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * RottingOranges on a square grid of about size cells. orangesRotting rots its
+ * input, so it takes a pre-built copy (see Copies); the flat variants leave
+ * the grid unchanged and their copy into a byte[] is timed. All three run in
+ * the same single-shot batches so their scores compare.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = Copies.BATCH)
+@Measurement(iterations = 20, batchSize = Copies.BATCH)
+@OperationsPerInvocation(Copies.BATCH)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RottingOrangesBenchmark {
+    private static final MethodHandle ORANGES_ROTTING = Flat.workload("orangesRotting", int[][].class);
+    private static final MethodHandle ORANGES_ROTTING_FLAT = Flat.workload("orangesRottingFlat", int[][].class);
+    private static final MethodHandle ORANGES_ROTTING_FLAT_BYTES =
+            Flat.workload("orangesRottingFlat", byte[].class, int.class, int.class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"scattered", "singleSource"})
+    String distribution;
+
+    int[][] grid;
+    byte[] cells;
+
+    @Setup
+    public void setUp() {
+        grid = Inputs.orangeGrid(size, distribution);
+        int side = grid.length;
+        cells = new byte[side * side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                cells[r * side + c] = (byte) grid[r][c];
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Work {
+        int[][][] pool;
+        int taken;
+
+        @Setup(Level.Iteration)
+        public void restore(RottingOrangesBenchmark input, BenchmarkParams params) {
+            pool = Copies.refill(pool, input.grid, Copies.poolSize(params));
+            taken = 0;
+        }
+
+        int[][] take() {
+            return pool[taken++];
+        }
+    }
+
+    @Benchmark
+    public Object orangesRotting(Work w) throws Throwable {
+        return (Object) ORANGES_ROTTING.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object orangesRottingFlat() throws Throwable {
+        return (Object) ORANGES_ROTTING_FLAT.invokeExact(grid);
+    }
+
+    @Benchmark
+    public Object orangesRottingFlatBytes() throws Throwable {
+        return (Object) ORANGES_ROTTING_FLAT_BYTES.invokeExact(cells, grid.length, grid.length);
+    }
+}
@@ -0,0 +1,157 @@
+package dsa.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Sorting against Arrays.sort and Arrays.parallelSort. Every sort runs on its
+ * own pre-built copy (see Copies), so the scores are single-shot times per
+ * sort, batched. The long[] inputs are (value << 32 | index) pairs, the way
+ * Merge and BubbleSort sort them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = Copies.BATCH)
+@Measurement(iterations = 20, batchSize = Copies.BATCH)
+@OperationsPerInvocation(Copies.BATCH)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortingBenchmark {
+    private static final MethodHandle SORT = Flat.workload("sort", int[].class);
+    private static final MethodHandle DUAL_PIVOT_QUICKSORT = Flat.workload("dualPivotQuicksort", int[].class);
+    private static final MethodHandle RADIX_SORT = Flat.workload("radixSort", int[].class);
+    private static final MethodHandle PARALLEL_MERGE_SORT = Flat.workload("parallelMergeSort", int[].class);
+    private static final MethodHandle PARALLEL_SORT = Flat.workload("parallelSort", int[].class);
+    private static final MethodHandle SORT_LONGS = Flat.workload("sort", long[].class);
+    private static final MethodHandle RADIX_SORT_LONGS = Flat.workload("radixSort", long[].class);
+    private static final MethodHandle NATURAL_MERGE_SORT = Flat.workload("naturalMergeSort", int[].class);
+    private static final MethodHandle NATURAL_MERGE_SORT_LONGS = Flat.workload("naturalMergeSort", long[].class);
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"random", "sorted", "nearlySorted", "fewUnique"})
+    String distribution;
+
+    int[] nums;
+    long[] pairs;
+
+    @Setup
+    public void setUp() {
+        nums = Inputs.intArray(size, distribution);
+        pairs = Inputs.packedPairs(nums);
+    }
+
+    @State(Scope.Thread)
+    public static class Work {
+        int[][] pool;
+        int taken;
+
+        @Setup(Level.Iteration)
+        public void restore(SortingBenchmark input, BenchmarkParams params) {
+            pool = Copies.refill(pool, input.nums, Copies.poolSize(params));
+            taken = 0;
+        }
+
+        int[] take() {
+            return pool[taken++];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LongWork {
+        long[][] pool;
+        int taken;
+
+        @Setup(Level.Iteration)
+        public void restore(SortingBenchmark input, BenchmarkParams params) {
+            pool = Copies.refill(pool, input.pairs, Copies.poolSize(params));
+            taken = 0;
+        }
+
+        long[] take() {
+            return pool[taken++];
+        }
+    }
+
+    @Benchmark
+    public Object sort(Work w) throws Throwable {
+        return (Object) SORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object dualPivotQuicksort(Work w) throws Throwable {
+        return (Object) DUAL_PIVOT_QUICKSORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object radixSort(Work w) throws Throwable {
+        return (Object) RADIX_SORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object naturalMergeSort(Work w) throws Throwable {
+        return (Object) NATURAL_MERGE_SORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object parallelMergeSort(Work w) throws Throwable {
+        return (Object) PARALLEL_MERGE_SORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object parallelSort(Work w) throws Throwable {
+        return (Object) PARALLEL_SORT.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public int[] arraysSort(Work w) {
+        int[] work = w.take();
+        Arrays.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort(Work w) {
+        int[] work = w.take();
+        Arrays.parallelSort(work);
+        return work;
+    }
+
+    @Benchmark
+    public Object sortLongs(LongWork w) throws Throwable {
+        return (Object) SORT_LONGS.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object radixSortLongs(LongWork w) throws Throwable {
+        return (Object) RADIX_SORT_LONGS.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public Object naturalMergeSortLongs(LongWork w) throws Throwable {
+        return (Object) NATURAL_MERGE_SORT_LONGS.invokeExact(w.take());
+    }
+
+    @Benchmark
+    public long[] arraysSortLongs(LongWork w) {
+        long[] work = w.take();
+        Arrays.sort(work);
+        return work;
+    }
+}